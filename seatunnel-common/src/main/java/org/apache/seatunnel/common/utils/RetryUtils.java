@@ -17,6 +17,8 @@
 
 package org.apache.seatunnel.common.utils;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public class RetryUtils {
 
     /**
@@ -35,6 +37,7 @@ public class RetryUtils {
             throw new IllegalArgumentException("Retry times must be greater than 0");
         }
         int i = 0;
+        Exception lastException = null;
         do {
             i++;
             try {
@@ -45,14 +48,42 @@ public class RetryUtils {
                         throw e;
                     }
                 }
+                lastException = e;
+            }
+            if (i <= retryTimes) {
+                long backoffMillis = computeBackoffMillis(retryMaterial, i);
+                if (backoffMillis > 0) {
+                    Thread.sleep(backoffMillis);
+                }
             }
         } while (i <= retryTimes);
         if (retryMaterial.shouldThrowException()) {
-            throw new RuntimeException("Execute given execution failed after retry " + retryTimes + " times");
+            throw new RuntimeException("Execute given execution failed after retry " + retryTimes + " times", lastException);
         }
         return null;
     }
 
+    /**
+     * Compute the time to sleep before the next attempt, which is doubled after each failed attempt and bounded by
+     * the max backoff. A random jitter is applied so that the retries of different tasks don't happen at the same time.
+     *
+     * @param retryMaterial retry material, defined the backoff
+     * @param attempt       the number of attempts that have failed, starts from 1
+     * @return time to sleep in milliseconds, between half of the backoff and the backoff
+     */
+    static long computeBackoffMillis(RetryMaterial retryMaterial, int attempt) {
+        long backoffMillis = retryMaterial.getBackoffMillis();
+        if (backoffMillis <= 0) {
+            return 0;
+        }
+        long maxBackoffMillis = Math.max(retryMaterial.getMaxBackoffMillis(), backoffMillis);
+        // avoid overflow of the shift
+        int shift = Math.min(attempt - 1, Long.numberOfLeadingZeros(backoffMillis) - 1);
+        long exponentialBackoff = Math.min(maxBackoffMillis, backoffMillis << shift);
+        long halfBackoff = exponentialBackoff / 2;
+        return halfBackoff + ThreadLocalRandom.current().nextLong(exponentialBackoff - halfBackoff + 1);
+    }
+
     public static class RetryMaterial {
         /**
          * Retry times, if you set it to 1, the given execution will be executed twice.
@@ -65,11 +96,27 @@ public class RetryUtils {
         private final boolean shouldThrowException;
         // this is the exception condition, can add result condition in the future.
         private final RetryCondition<Exception> retryCondition;
+        /**
+         * Time to sleep before the first retry, it will be doubled for each of the following retries.
+         * 0 means retry immediately.
+         */
+        private final long backoffMillis;
+        /**
+         * The upper bound of the time to sleep before each retry.
+         */
+        private final long maxBackoffMillis;
 
         public RetryMaterial(int retryTimes, boolean shouldThrowException, RetryCondition<Exception> retryCondition) {
+            this(retryTimes, shouldThrowException, retryCondition, 0L, 0L);
+        }
+
+        public RetryMaterial(int retryTimes, boolean shouldThrowException, RetryCondition<Exception> retryCondition,
+                             long backoffMillis, long maxBackoffMillis) {
             this.retryTimes = retryTimes;
             this.shouldThrowException = shouldThrowException;
             this.retryCondition = retryCondition;
+            this.backoffMillis = backoffMillis;
+            this.maxBackoffMillis = maxBackoffMillis;
         }
 
         public int getRetryTimes() {
@@ -83,6 +130,14 @@ public class RetryUtils {
         public RetryCondition<Exception> getRetryCondition() {
             return retryCondition;
         }
+
+        public long getBackoffMillis() {
+            return backoffMillis;
+        }
+
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
     }
 
     public interface Execution<T, E extends Exception> {
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryUtilsTest {
+
+    private static final int RETRY_TIMES = 3;
+    private static final long BACKOFF_MILLIS = 100L;
+    private static final long MAX_BACKOFF_MILLIS = 1000L;
+    private static final long SHORT_MAX_BACKOFF_MILLIS = 4L;
+    private static final int MANY_ATTEMPTS = 100;
+    /**
+     * The backoff reaches the max backoff within this number of doublings.
+     */
+    private static final int MAX_DOUBLINGS = 10;
+
+    @Test
+    public void testRetryUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryUtils.RetryMaterial retryMaterial = new RetryUtils.RetryMaterial(RETRY_TIMES, true, e -> true, 1L, SHORT_MAX_BACKOFF_MILLIS);
+        String result = RetryUtils.retryWithException(() -> {
+            if (attempts.incrementAndGet() < RETRY_TIMES) {
+                throw new IllegalStateException("failed");
+            }
+            return "success";
+        }, retryMaterial);
+        Assert.assertEquals("success", result);
+        Assert.assertEquals(RETRY_TIMES, attempts.get());
+    }
+
+    @Test
+    public void testKeepLastExceptionAfterRetry() {
+        RetryUtils.RetryMaterial retryMaterial = new RetryUtils.RetryMaterial(1, true, e -> true);
+        IllegalStateException failure = new IllegalStateException("failed");
+        try {
+            RetryUtils.retryWithException(() -> {
+                throw failure;
+            }, retryMaterial);
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testComputeBackoffMillis() {
+        RetryUtils.RetryMaterial noBackoff = new RetryUtils.RetryMaterial(RETRY_TIMES, true, null);
+        Assert.assertEquals(0, RetryUtils.computeBackoffMillis(noBackoff, 1));
+
+        RetryUtils.RetryMaterial retryMaterial = new RetryUtils.RetryMaterial(MANY_ATTEMPTS, true, null,
+            BACKOFF_MILLIS, MAX_BACKOFF_MILLIS);
+        for (int attempt = 1; attempt <= MANY_ATTEMPTS; attempt++) {
+            long expected = Math.min(MAX_BACKOFF_MILLIS, BACKOFF_MILLIS << Math.min(attempt - 1, MAX_DOUBLINGS));
+            long backoff = RetryUtils.computeBackoffMillis(retryMaterial, attempt);
+            Assert.assertTrue(backoff >= expected / 2);
+            Assert.assertTrue(backoff <= expected);
+        }
+    }
+}
@@ -74,6 +74,26 @@ public class ConfigKey {
      */
     public static final String RETRY_CODES = "retry_codes";
 
+    /**
+     * Time to sleep before the first retry, it will be doubled for each of the following retries
+     */
+    public static final String RETRY_BACKOFF_MS = "retry_backoff_ms";
+
+    /**
+     * The max time to sleep before each retry
+     */
+    public static final String RETRY_MAX_BACKOFF_MS = "retry_max_backoff_ms";
+
+    /**
+     * How long a failed or slow replica is not written to, when split_mode is true
+     */
+    public static final String REPLICA_EJECT_MS = "replica_eject_ms";
+
+    /**
+     * The replica is ejected when its average insert latency exceeds this, 0 means never
+     */
+    public static final String REPLICA_SLOW_THRESHOLD_MS = "replica_slow_threshold_ms";
+
     /**
      * ClickhouseFile sink connector used clickhouse-local program's path
      */
@@ -89,6 +109,21 @@ public class ConfigKey {
      */
     public static final String TMP_BATCH_CACHE_LINE = "tmp_batch_cache_line";
 
+    /**
+     * The number of shards whose clickhouse file can be generated and transferred at the same time
+     */
+    public static final String SHARD_PARALLELISM = "shard_parallelism";
+
+    /**
+     * The rows of a shard are spilled into a local file until it reaches this size in bytes, then the parts are generated
+     */
+    public static final String PART_TARGET_BYTES = "part_target_bytes";
+
+    /**
+     * The rows of a shard are spilled into a local file until it reaches this number of rows, then the parts are generated
+     */
+    public static final String PART_TARGET_ROWS = "part_target_rows";
+
     /**
      * Clickhouse server node is free-password.
      */
@@ -104,6 +139,21 @@ public class ConfigKey {
      */
     public static final String NODE_ADDRESS = "node_address";
 
+    /**
+     * Flush full batches on a background executor, so that the next batch can be filled while the previous one is sent
+     */
+    public static final String ASYNC_FLUSH = "async_flush";
+
+    /**
+     * When async_flush is true, the max number of batches of one shard that can be flushing at the same time
+     */
+    public static final String MAX_IN_FLIGHT_BATCHES = "max_in_flight_batches";
+
+    /**
+     * The compression of the insert request body, support none and lz4
+     */
+    public static final String COMPRESSION = "compression";
+
     public static final String CLICKHOUSE_PREFIX = "clickhouse.";
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.clickhouse.pojo;
+
+public enum ClickhouseCompression {
+    NONE("none"),
+    /**
+     * Compress the insert request body with the native LZ4 framing of clickhouse, the server decompresses it.
+     */
+    LZ4("lz4"),
+    ;
+    private final String name;
+
+    ClickhouseCompression(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static ClickhouseCompression from(String name) {
+        for (ClickhouseCompression clickhouseCompression : ClickhouseCompression.values()) {
+            if (clickhouseCompression.getName().equalsIgnoreCase(name)) {
+                return clickhouseCompression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ClickhouseCompression: " + name);
+    }
+}
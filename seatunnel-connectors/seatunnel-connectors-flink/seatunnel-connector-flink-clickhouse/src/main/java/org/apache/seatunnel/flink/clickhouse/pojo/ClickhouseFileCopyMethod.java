@@ -20,6 +20,10 @@ package org.apache.seatunnel.flink.clickhouse.pojo;
 public enum ClickhouseFileCopyMethod {
     SCP("scp"),
     RSYNC("rsync"),
+    /**
+     * Move the file locally when the clickhouse server is on the same host, otherwise use scp.
+     */
+    LOCAL("local"),
     ;
     private final String name;
 
@@ -17,13 +17,20 @@
 
 package org.apache.seatunnel.flink.clickhouse.sink;
 
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.ASYNC_FLUSH;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.BULK_SIZE;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.COMPRESSION;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.DATABASE;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.FIELDS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.HOST;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.MAX_IN_FLIGHT_BATCHES;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.PASSWORD;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.REPLICA_EJECT_MS;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.REPLICA_SLOW_THRESHOLD_MS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_BACKOFF_MS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_CODES;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_MAX_BACKOFF_MS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.SHARDING_KEY;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.SPLIT_MODE;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.TABLE;
@@ -34,6 +41,7 @@ import org.apache.seatunnel.common.config.CheckResult;
 import org.apache.seatunnel.common.config.TypesafeConfigUtils;
 import org.apache.seatunnel.flink.FlinkEnvironment;
 import org.apache.seatunnel.flink.batch.FlinkBatchSink;
+import org.apache.seatunnel.flink.clickhouse.pojo.ClickhouseCompression;
 import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
 import org.apache.seatunnel.flink.clickhouse.pojo.ShardMetadata;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ClickhouseClient;
@@ -43,6 +51,7 @@ import org.apache.seatunnel.shade.com.typesafe.config.ConfigFactory;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.flink.api.java.DataSet;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.types.Row;
 import ru.yandex.clickhouse.ClickHouseConnection;
 
@@ -50,9 +59,11 @@ import javax.annotation.Nullable;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("magicnumber")
 public class ClickhouseBatchSink implements FlinkBatchSink {
@@ -76,13 +87,26 @@ public class ClickhouseBatchSink implements FlinkBatchSink {
     @Nullable
     @Override
     public void outputBatch(FlinkEnvironment env, DataSet<Row> dataSet) {
-        ClickhouseOutputFormat clickhouseOutputFormat = new ClickhouseOutputFormat(config, shardMetadata, fields, tableSchema);
+        String[] rowFieldNames = ((RowTypeInfo) dataSet.getType()).getFieldNames();
+        if (fields == null) {
+            // adapt the fields according to the data schema
+            fields = Arrays.stream(rowFieldNames).filter(tableSchema::containsKey).collect(Collectors.toList());
+        }
+        ClickhouseOutputFormat clickhouseOutputFormat = new ClickhouseOutputFormat(config, shardMetadata, fields, rowFieldNames, tableSchema);
         dataSet.output(clickhouseOutputFormat);
     }
 
     @Override
     public CheckResult checkConfig() {
-        return CheckConfigUtil.checkAllExists(config, HOST, TABLE, DATABASE, USERNAME, PASSWORD);
+        CheckResult checkResult = CheckConfigUtil.checkAllExists(config, HOST, TABLE, DATABASE, USERNAME, PASSWORD);
+        if (checkResult.isSuccess() && config.hasPath(COMPRESSION)) {
+            try {
+                ClickhouseCompression.from(config.getString(COMPRESSION));
+            } catch (IllegalArgumentException e) {
+                return CheckResult.error(e.getMessage());
+            }
+        }
+        return checkResult;
     }
 
     @Override
@@ -92,6 +116,13 @@ public class ClickhouseBatchSink implements FlinkBatchSink {
             .put(RETRY_CODES, new ArrayList<>())
             .put(RETRY, 1)
             .put(SPLIT_MODE, false)
+            .put(ASYNC_FLUSH, false)
+            .put(MAX_IN_FLIGHT_BATCHES, 1)
+            .put(RETRY_BACKOFF_MS, 100L)
+            .put(RETRY_MAX_BACKOFF_MS, 10_000L)
+            .put(REPLICA_EJECT_MS, 60_000L)
+            .put(REPLICA_SLOW_THRESHOLD_MS, 0L)
+            .put(COMPRESSION, ClickhouseCompression.NONE.getName())
             .build();
 
         config = config.withFallback(ConfigFactory.parseMap(defaultConfig));
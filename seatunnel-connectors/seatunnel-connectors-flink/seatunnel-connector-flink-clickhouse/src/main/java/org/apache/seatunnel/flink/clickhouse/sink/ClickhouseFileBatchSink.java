@@ -151,7 +151,12 @@ public class ClickhouseFileBatchSink extends ClickhouseBatchSink {
         }).mapPartition(new MapPartitionFunction<Row, Row>() {
             @Override
             public void mapPartition(Iterable<Row> values, Collector<Row> out) throws Exception {
-                new ClickhouseFileOutputFormat(config, shardMetadata, fields).writeRecords(values);
+                ClickhouseFileOutputFormat outputFormat = new ClickhouseFileOutputFormat(config, shardMetadata, fields);
+                try {
+                    outputFormat.writeRecords(values);
+                } finally {
+                    outputFormat.close();
+                }
             }
         });
 
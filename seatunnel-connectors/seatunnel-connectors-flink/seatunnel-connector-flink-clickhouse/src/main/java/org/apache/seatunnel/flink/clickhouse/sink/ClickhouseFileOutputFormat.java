@@ -23,7 +23,10 @@ import static org.apache.seatunnel.flink.clickhouse.ConfigKey.DATABASE;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.NODE_ADDRESS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.NODE_FREE_PASSWORD;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.NODE_PASS;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.PART_TARGET_BYTES;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.PART_TARGET_ROWS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.PASSWORD;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.SHARD_PARALLELISM;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.TABLE;
 
 import org.apache.seatunnel.common.config.TypesafeConfigUtils;
@@ -32,37 +35,46 @@ import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
 import org.apache.seatunnel.flink.clickhouse.pojo.ShardMetadata;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ClickhouseClient;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ShardRouter;
+import org.apache.seatunnel.flink.clickhouse.sink.file.ClickhouseStagingFile;
 import org.apache.seatunnel.flink.clickhouse.sink.file.ClickhouseTable;
 import org.apache.seatunnel.flink.clickhouse.sink.file.FileTransfer;
+import org.apache.seatunnel.flink.clickhouse.sink.file.LocalFileTransfer;
+import org.apache.seatunnel.flink.clickhouse.sink.file.RsyncFileTransfer;
 import org.apache.seatunnel.flink.clickhouse.sink.file.ScpFileTransfer;
 
 import org.apache.seatunnel.shade.com.typesafe.config.Config;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.types.Row;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.yandex.clickhouse.ClickHouseConnectionImpl;
+import ru.yandex.clickhouse.ClickHouseStatement;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.MappedByteBuffer;
-import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -84,9 +96,16 @@ public class ClickhouseFileOutputFormat {
     private final ClickhouseTable clickhouseTable;
     private final Map<String, String> schemaMap;
     private final Map<Shard, List<String>> shardLocalDataPaths;
+    // one reusable file transfer session of each host
+    private final Map<String, FileTransfer> fileTransferMap = new ConcurrentHashMap<>(16);
+    private final ExecutorService generateExecutor;
+    private final ExecutorService transferExecutor;
+    private final long partTargetBytes;
+    private final long partTargetRows;
 
     // In most of the case, the data has been already shuffled in ClickhouseFileBatchSink#outputBatch
-    private final Map<Shard, List<Row>> rowCache;
+    private final Map<Shard, ClickhouseStagingFile> stagingFiles;
+    private final List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
 
     public ClickhouseFileOutputFormat(Config config, ShardMetadata shardMetadata, List<String> fields) throws IOException {
         this.config = config;
@@ -107,7 +126,9 @@ public class ClickhouseFileOutputFormat {
         clickhouseTable = clickhouseClient.getClickhouseTable(config.getString(DATABASE), config.getString(TABLE));
         schemaMap = clickhouseClient.getClickhouseTableSchema(config.getString(TABLE));
 
-        rowCache = new HashMap<>(shardRouter.getShards().keySet().size());
+        stagingFiles = new HashMap<>(shardRouter.getShards().keySet().size());
+        partTargetBytes = TypesafeConfigUtils.getConfig(config, PART_TARGET_BYTES, 0L);
+        partTargetRows = TypesafeConfigUtils.getConfig(config, PART_TARGET_ROWS, 0L);
         if (!TypesafeConfigUtils.getConfig(config, NODE_FREE_PASSWORD, true)) {
             shardRouter.getShards().values().forEach(shard -> {
                 if (!nodePassword.containsKey(shard.getHostAddress()) && !nodePassword.containsKey(shard.getHostname())) {
@@ -123,66 +144,154 @@ public class ClickhouseFileOutputFormat {
                         .getClickhouseTable(shard.getDatabase(), clickhouseTable.getLocalTableName());
                     return shardTable.getDataPaths();
                 }));
+        int shardParallelism = TypesafeConfigUtils.getConfig(config, SHARD_PARALLELISM,
+            Math.min(shardRouter.getShards().size(), Runtime.getRuntime().availableProcessors()));
+        if (shardParallelism < 1) {
+            throw new IllegalArgumentException(SHARD_PARALLELISM + " must be greater than 0");
+        }
+        generateExecutor = new ThreadPoolExecutor(shardParallelism, shardParallelism, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new ExecutorThreadFactory("clickhouse-file-generate"));
+        transferExecutor = new ThreadPoolExecutor(shardParallelism, shardParallelism, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new ExecutorThreadFactory("clickhouse-file-transfer"));
     }
 
+    /**
+     * Spill the records into the staging file of each shard, the parts of a shard are generated once its staging file
+     * reaches the target size, the remaining staging files are flushed in {@link #close()}.
+     */
     public void writeRecords(Iterable<Row> records) {
-        for (Row record : records) {
-            Shard shard = shardRouter.getShard(record);
-            rowCache.computeIfAbsent(shard, k -> new ArrayList<>()).add(record);
-        }
-        for (Map.Entry<Shard, List<Row>> entry : rowCache.entrySet()) {
-            Shard shard = entry.getKey();
-            List<Row> rows = entry.getValue();
-            flush(shard, rows);
-            rows.clear();
+        try {
+            for (Row record : records) {
+                Shard shard = shardRouter.getShard(record);
+                ClickhouseStagingFile stagingFile = stagingFiles.get(shard);
+                if (stagingFile == null) {
+                    stagingFile = createStagingFile();
+                    stagingFiles.put(shard, stagingFile);
+                }
+                stagingFile.append(record, fields);
+                if (reachPartTarget(stagingFile)) {
+                    stagingFiles.remove(shard);
+                    flush(shard, stagingFile);
+                    checkFlushException();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Write data into clickhouse staging file error", e);
         }
     }
 
-    private void flush(Shard shard, List<Row> rows) {
+    public void close() {
         try {
-            // generate clickhouse local file
-            List<String> clickhouseLocalFiles = generateClickhouseLocalFiles(shard, rows);
-            // move file to server
-            attachClickhouseLocalFileToServer(shard, clickhouseLocalFiles);
-            // clear local file
-            clearLocalFileDirectory(clickhouseLocalFiles);
-        } catch (Exception e) {
-            throw new RuntimeException("Flush data into clickhouse file error", e);
+            RuntimeException exception = null;
+            try {
+                for (Map.Entry<Shard, ClickhouseStagingFile> entry : stagingFiles.entrySet()) {
+                    flush(entry.getKey(), entry.getValue());
+                }
+            } catch (IOException e) {
+                exception = new RuntimeException("Write data into clickhouse staging file error", e);
+            }
+            try {
+                // the pipelines already started are waited for even if a staging file failed to flush
+                CompletableFuture.allOf(pendingFutures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                RuntimeException flushException = new RuntimeException("Flush data into clickhouse file error", e.getCause());
+                if (exception == null) {
+                    exception = flushException;
+                } else {
+                    exception.addSuppressed(flushException);
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        } finally {
+            stagingFiles.clear();
+            pendingFutures.clear();
+            generateExecutor.shutdownNow();
+            transferExecutor.shutdownNow();
+            fileTransferMap.values().forEach(FileTransfer::close);
+            fileTransferMap.clear();
         }
     }
 
-    private List<String> generateClickhouseLocalFiles(Shard shard, List<Row> rows) throws IOException, InterruptedException {
-        if (CollectionUtils.isEmpty(rows)) {
+    private boolean reachPartTarget(ClickhouseStagingFile stagingFile) {
+        return (partTargetRows > 0 && stagingFile.getRowCount() >= partTargetRows)
+            || (partTargetBytes > 0 && stagingFile.getByteCount() >= partTargetBytes);
+    }
+
+    private ClickhouseStagingFile createStagingFile() throws IOException {
+        String uuid = UUID.randomUUID().toString().substring(0, UUID_LENGTH).replaceAll("-", "_");
+        String directory = String.format("%s/%s", CLICKHOUSE_LOCAL_FILE_PREFIX, uuid);
+        FileUtils.forceMkdir(new File(directory));
+        return new ClickhouseStagingFile(uuid, directory);
+    }
+
+    /**
+     * Each staging file runs its own pipeline, the part generation of one shard overlaps with the transfer of another.
+     */
+    private void flush(Shard shard, ClickhouseStagingFile stagingFile) throws IOException {
+        stagingFile.close();
+        pendingFutures.add(CompletableFuture
+            .supplyAsync(() -> generateClickhouseLocalFiles(shard, stagingFile), generateExecutor)
+            .thenAcceptAsync(clickhouseLocalFiles -> {
+                // move file to server
+                attachClickhouseLocalFileToServer(shard, clickhouseLocalFiles);
+                // clear local file
+                clearLocalFileDirectory(stagingFile.getDirectory());
+            }, transferExecutor));
+    }
+
+    /**
+     * Fail fast when any of the finished pipelines failed, the unfinished ones are checked in {@link #close()}.
+     */
+    private void checkFlushException() {
+        Iterator<CompletableFuture<Void>> iterator = pendingFutures.iterator();
+        while (iterator.hasNext()) {
+            CompletableFuture<Void> future = iterator.next();
+            if (future.isDone()) {
+                iterator.remove();
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    throw new RuntimeException("Flush data into clickhouse file error", e.getCause());
+                }
+            }
+        }
+    }
+
+    private List<String> generateClickhouseLocalFiles(Shard shard, ClickhouseStagingFile stagingFile) {
+        if (stagingFile.getRowCount() == 0) {
             return Collections.emptyList();
         }
-        String uuid = UUID.randomUUID().toString().substring(0, UUID_LENGTH).replaceAll("-", "_");
-        String clickhouseLocalFile = String.format("%s/%s", CLICKHOUSE_LOCAL_FILE_PREFIX, uuid);
-        FileUtils.forceMkdir(new File(clickhouseLocalFile));
-        String clickhouseLocalFileTmpFile = clickhouseLocalFile + "/local_data.log";
-        FileChannel fileChannel = FileChannel.open(Paths.get(clickhouseLocalFileTmpFile), StandardOpenOption.WRITE,
-            StandardOpenOption.READ, StandardOpenOption.CREATE_NEW);
-        String data = rows.stream()
-            .map(row -> fields.stream().map(field -> row.getField(field).toString())
-                .collect(Collectors.joining("\t")))
-            .collect(Collectors.joining("\n"));
-        MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, fileChannel.size(),
-            data.getBytes(StandardCharsets.UTF_8).length);
-        buffer.put(data.getBytes(StandardCharsets.UTF_8));
+        try {
+            List<String> clickhouseLocalFiles = generateClickhouseLocalFiles(stagingFile);
+            long partBytes = clickhouseLocalFiles.stream().mapToLong(path -> FileUtils.sizeOfDirectory(new File(path))).sum();
+            LOGGER.info("Generated {} parts of {} bytes from {} rows ({} bytes) for shard {}",
+                clickhouseLocalFiles.size(), partBytes, stagingFile.getRowCount(), stagingFile.getByteCount(),
+                shard.getJdbcUrl());
+            return clickhouseLocalFiles;
+        } catch (IOException e) {
+            throw new RuntimeException("Generate clickhouse local file of shard " + shard.getJdbcUrl() + " error", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating clickhouse local file", e);
+        }
+    }
 
-        List<String> command = new ArrayList<>();
-        command.add("cat");
-        command.add(clickhouseLocalFileTmpFile);
-        command.add("|");
+    private List<String> generateClickhouseLocalFiles(ClickhouseStagingFile stagingFile) throws IOException, InterruptedException {
+        String uuid = stagingFile.getUuid();
+        String clickhouseLocalFile = stagingFile.getDirectory();
 
+        List<String> command = new ArrayList<>();
         command.addAll(Arrays.stream(clickhouseLocalPath.trim().split(" ")).collect(Collectors.toList()));
         command.add("local");
         command.add("-S");
-        command.add("\"" + fields.stream().map(field -> field + " " + schemaMap.get(field)).collect(Collectors.joining(",")) + "\"");
+        command.add(fields.stream().map(field -> field + " " + schemaMap.get(field)).collect(Collectors.joining(",")));
         command.add("-N");
-        command.add("\"" + "temp_table" + uuid + "\"");
+        command.add("temp_table" + uuid);
         command.add("-q");
         command.add(String.format(
-            "\"%s; INSERT INTO TABLE %s SELECT %s FROM temp_table%s;\"",
+            "%s; INSERT INTO TABLE %s SELECT %s FROM temp_table%s;",
             clickhouseTable.getCreateTableDDL().replace(clickhouseTable.getDatabase() + ".", "").replaceAll("`", ""),
             clickhouseTable.getLocalTableName(),
             schemaMap.entrySet().stream().map(entry -> {
@@ -194,20 +303,21 @@ public class ClickhouseFileOutputFormat {
             }).collect(Collectors.joining(",")),
             uuid));
         command.add("--path");
-        command.add("\"" + clickhouseLocalFile + "\"");
+        command.add(clickhouseLocalFile);
         LOGGER.info("Generate clickhouse local file command: {}", String.join(" ", command));
-        ProcessBuilder processBuilder = new ProcessBuilder("bash", "-c", String.join(" ", command));
-        Process start = processBuilder.start();
-        // we just wait for the process to finish
-        try (InputStream inputStream = start.getInputStream();
-             InputStreamReader inputStreamReader = new InputStreamReader(inputStream);
-             BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                LOGGER.info(line);
-            }
+        // the staging file is fed to clickhouse-local's stdin directly, so the memory used doesn't grow with the size
+        // of the batch
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectInput(stagingFile.getDataFile());
+        Process process = processBuilder.start();
+        logProcessOutput(process);
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new RuntimeException("clickhouse local exited with code " + exitCode);
         }
-        start.waitFor();
+        // the data has been loaded into the parts, free the disk space as soon as possible
+        Files.deleteIfExists(stagingFile.getDataFile().toPath());
         File file = new File(clickhouseLocalFile + "/data/_local/" + clickhouseTable.getLocalTableName());
         if (!file.exists()) {
             throw new RuntimeException("clickhouse local file not exists");
@@ -222,33 +332,69 @@ public class ClickhouseFileOutputFormat {
             .map(File::getAbsolutePath).collect(Collectors.toList());
     }
 
+    private void logProcessOutput(Process process) {
+        try (InputStream inputStream = process.getInputStream();
+             InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                LOGGER.info(line);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read the output of clickhouse local", e);
+        }
+    }
+
     private void attachClickhouseLocalFileToServer(Shard shard, List<String> clickhouseLocalFiles) {
-        if (ClickhouseFileCopyMethod.SCP.equals(clickhouseFileCopyMethod)) {
-            String hostAddress = shard.getHostAddress();
-            String password = nodePassword.getOrDefault(hostAddress, null);
-            FileTransfer fileTransfer = new ScpFileTransfer(hostAddress, password);
-            fileTransfer.init();
+        if (clickhouseLocalFiles.isEmpty()) {
+            return;
+        }
+        FileTransfer fileTransfer = getFileTransfer(shard);
+        // the session of a host is shared by all the shards on it, only one transfer at a time
+        synchronized (fileTransfer) {
             fileTransfer.transferAndChown(clickhouseLocalFiles, shardLocalDataPaths.get(shard).get(0) + "detached/");
-            fileTransfer.close();
-        } else {
-            throw new RuntimeException("unsupported clickhouse file copy method " + clickhouseFileCopyMethod);
         }
 
-        try (ClickHouseConnectionImpl clickhouseConnection = clickhouseClient.getClickhouseConnection(shard)) {
+        try (ClickHouseConnectionImpl clickhouseConnection = clickhouseClient.getClickhouseConnection(shard);
+             ClickHouseStatement statement = clickhouseConnection.createStatement()) {
             for (String clickhouseLocalFile : clickhouseLocalFiles) {
-                clickhouseConnection.createStatement()
-                    .execute(String.format("ALTER TABLE %s ATTACH PART '%s'",
-                        clickhouseTable.getLocalTableName(),
-                        clickhouseLocalFile.substring(clickhouseLocalFile.lastIndexOf("/") + 1)));
+                statement.execute(String.format("ALTER TABLE %s ATTACH PART '%s'",
+                    clickhouseTable.getLocalTableName(),
+                    clickhouseLocalFile.substring(clickhouseLocalFile.lastIndexOf("/") + 1)));
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Unable to close connection", e);
+            throw new RuntimeException("Unable to attach part to shard " + shard.getJdbcUrl(), e);
         }
     }
 
-    private void clearLocalFileDirectory(List<String> clickhouseLocalFiles) {
-        String clickhouseLocalFile = clickhouseLocalFiles.get(0);
-        String localFileDir = clickhouseLocalFile.substring(0, CLICKHOUSE_LOCAL_FILE_PREFIX.length() + UUID_LENGTH + 1);
+    /**
+     * Get the file transfer of the shard's host, which is created on first use and reused until {@link #close()}.
+     */
+    private FileTransfer getFileTransfer(Shard shard) {
+        String hostAddress = shard.getHostAddress();
+        return fileTransferMap.computeIfAbsent(hostAddress, host -> {
+            String password = nodePassword.getOrDefault(host, null);
+            FileTransfer fileTransfer;
+            switch (clickhouseFileCopyMethod) {
+                case SCP:
+                    fileTransfer = new ScpFileTransfer(host, password);
+                    break;
+                case RSYNC:
+                    fileTransfer = new RsyncFileTransfer(host, password);
+                    break;
+                case LOCAL:
+                    fileTransfer = LocalFileTransfer.isLocalHost(host) ?
+                        new LocalFileTransfer() : new ScpFileTransfer(host, password);
+                    break;
+                default:
+                    throw new RuntimeException("unsupported clickhouse file copy method " + clickhouseFileCopyMethod);
+            }
+            fileTransfer.init();
+            return fileTransfer;
+        });
+    }
+
+    private void clearLocalFileDirectory(String localFileDir) {
         try {
             File file = new File(localFileDir);
             if (file.exists()) {
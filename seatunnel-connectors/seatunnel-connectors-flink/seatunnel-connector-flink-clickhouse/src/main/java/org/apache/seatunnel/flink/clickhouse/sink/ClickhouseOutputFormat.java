@@ -17,9 +17,15 @@
 
 package org.apache.seatunnel.flink.clickhouse.sink;
 
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.ASYNC_FLUSH;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.BULK_SIZE;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.MAX_IN_FLIGHT_BATCHES;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.REPLICA_EJECT_MS;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.REPLICA_SLOW_THRESHOLD_MS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_BACKOFF_MS;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_CODES;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.RETRY_MAX_BACKOFF_MS;
 
 import org.apache.seatunnel.common.utils.RetryUtils;
 import org.apache.seatunnel.flink.clickhouse.pojo.IntHolder;
@@ -27,6 +33,7 @@ import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
 import org.apache.seatunnel.flink.clickhouse.pojo.ShardMetadata;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ClickhouseBatchStatement;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ClickhouseClient;
+import org.apache.seatunnel.flink.clickhouse.sink.client.ReplicaSelector;
 import org.apache.seatunnel.flink.clickhouse.sink.client.ShardRouter;
 import org.apache.seatunnel.flink.clickhouse.sink.inject.ArrayInjectFunction;
 import org.apache.seatunnel.flink.clickhouse.sink.inject.BigDecimalInjectFunction;
@@ -42,48 +49,80 @@ import org.apache.seatunnel.flink.clickhouse.sink.inject.StringInjectFunction;
 import org.apache.seatunnel.shade.com.typesafe.config.Config;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.flink.api.common.io.RichOutputFormat;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.types.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ru.yandex.clickhouse.ClickHouseConnectionImpl;
 import ru.yandex.clickhouse.ClickHousePreparedStatementImpl;
-import ru.yandex.clickhouse.ClickHouseStatement;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("magicnumber")
 public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
 
     private static final long serialVersionUID = -1L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClickhouseOutputFormat.class);
 
     private final Config config;
     private final List<String> fields;
+    private final String[] rowFieldNames;
     private final Map<String, String> tableSchema;
     private final ShardMetadata shardMetadata;
     private final int batchSize;
+    private final boolean asyncFlush;
+    private final int maxInFlightBatches;
 
     // The below fields should be created by open function.
     private transient RetryUtils.RetryMaterial retryMaterial;
     private transient ShardRouter shardRouter;
+    private transient ReplicaSelector replicaSelector;
+    private transient List<Integer> retryCodes;
     private transient ClickhouseClient clickhouseClient;
     private transient String prepareSql;
     private transient Map<Shard, ClickhouseBatchStatement> statementMap;
-    private transient Map<String, ClickhouseFieldInjectFunction> fieldInjectFunctionMap;
-    private static final ClickhouseFieldInjectFunction DEFAULT_INJECT_FUNCTION = new StringInjectFunction();
+    // The idle statements of each shard, only used when async flush is enabled.
+    private transient Map<Shard, BlockingQueue<ClickhouseBatchStatement>> idleStatementMap;
+    private transient ExecutorService flushExecutor;
+    private transient volatile Exception flushException;
+    // The column plan, resolved once in open function: the position in row and the inject function of each field.
+    private transient int[] fieldIndexes;
+    private transient ClickhouseFieldInjectFunction[] fieldInjectFunctions;
+    private transient int shardKeyIndex;
 
+    /**
+     * @param rowFieldNames field names of the input row, used to resolve the position of each field.
+     */
     public ClickhouseOutputFormat(Config config,
                                   ShardMetadata shardMetadata,
                                   List<String> fields,
+                                  String[] rowFieldNames,
                                   Map<String, String> tableSchema) {
         this.config = config;
         this.shardMetadata = shardMetadata;
         this.fields = fields;
+        this.rowFieldNames = rowFieldNames;
         this.tableSchema = tableSchema;
         this.batchSize = config.getInt(BULK_SIZE);
+        this.asyncFlush = config.getBoolean(ASYNC_FLUSH);
+        this.maxInFlightBatches = config.getInt(MAX_IN_FLIGHT_BATCHES);
+        if (asyncFlush && maxInFlightBatches < 1) {
+            throw new IllegalArgumentException(MAX_IN_FLIGHT_BATCHES + " must be greater than 0");
+        }
     }
 
     @Override
@@ -92,67 +131,148 @@ public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
 
     @Override
     public void open(int taskNumber, int numTasks) {
-        List<Integer> retryCodes = config.getIntList(RETRY_CODES);
-        retryMaterial = new RetryUtils.RetryMaterial(config.getInt(RETRY), true, exception -> {
-            if (exception instanceof SQLException) {
-                SQLException sqlException = (SQLException) exception;
-                return retryCodes.contains(sqlException.getErrorCode());
-            }
-            return false;
-        });
+        retryCodes = config.getIntList(RETRY_CODES);
+        retryMaterial = new RetryUtils.RetryMaterial(config.getInt(RETRY), true, this::isRetryable,
+            config.getLong(RETRY_BACKOFF_MS), config.getLong(RETRY_MAX_BACKOFF_MS));
         clickhouseClient = new ClickhouseClient(config);
-        fieldInjectFunctionMap = initFieldInjectFunctionMap();
+        initColumnPlan();
         shardRouter = new ShardRouter(clickhouseClient, shardMetadata);
+        replicaSelector = new ReplicaSelector(shardRouter,
+            config.getLong(REPLICA_EJECT_MS), config.getLong(REPLICA_SLOW_THRESHOLD_MS));
         prepareSql = initPrepareSQL();
         statementMap = initStatementMap();
+        if (asyncFlush) {
+            idleStatementMap = initIdleStatementMap();
+            int poolSize = statementMap.size() * maxInFlightBatches;
+            flushExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ExecutorThreadFactory("clickhouse-outputformat-flush"));
+        }
     }
 
     @Override
     public void writeRecord(Row row) {
-        ClickhouseBatchStatement batchStatement = statementMap.get(shardRouter.getShard(row));
+        checkFlushException();
+        Shard shard = shardRouter.getShardByKey(shardKeyIndex < 0 ? null : row.getField(shardKeyIndex));
+        ClickhouseBatchStatement batchStatement = statementMap.get(shard);
         ClickHousePreparedStatementImpl clickHouseStatement = batchStatement.getPreparedStatement();
         IntHolder sizeHolder = batchStatement.getIntHolder();
         // add into batch
         addIntoBatch(row, clickHouseStatement);
+        if (batchStatement.getRows() != null) {
+            batchStatement.getRows().add(row);
+        }
         sizeHolder.setValue(sizeHolder.getValue() + 1);
         // flush batch
         if (sizeHolder.getValue() >= batchSize) {
-            flush(clickHouseStatement);
-            sizeHolder.setValue(0);
+            if (asyncFlush) {
+                flushAsync(shard, batchStatement);
+            } else {
+                flush(shard, batchStatement);
+            }
         }
     }
 
     @Override
     public void close() {
-        for (ClickhouseBatchStatement batchStatement : statementMap.values()) {
-            try (ClickHouseConnectionImpl needClosedConnection = batchStatement.getClickHouseConnection();
-                 ClickHousePreparedStatementImpl needClosedStatement = batchStatement.getPreparedStatement()) {
-                IntHolder intHolder = batchStatement.getIntHolder();
-                if (intHolder.getValue() > 0) {
-                    flush(needClosedStatement);
-                    intHolder.setValue(0);
+        if (asyncFlush) {
+            closeAsync();
+            return;
+        }
+        for (Map.Entry<Shard, ClickhouseBatchStatement> entry : statementMap.entrySet()) {
+            ClickhouseBatchStatement batchStatement = entry.getValue();
+            try {
+                if (batchStatement.getIntHolder().getValue() > 0) {
+                    flush(entry.getKey(), batchStatement);
                 }
-            } catch (SQLException e) {
-                throw new RuntimeException("Failed to close prepared statement.", e);
+            } finally {
+                closeBatchStatement(batchStatement);
             }
         }
     }
 
+    /**
+     * Hand the full batch of the shard to the flush executor, and switch the shard to an idle statement.
+     * If all the statements of the shard are in flight, this will block until one of them is flushed.
+     */
+    private void flushAsync(Shard shard, ClickhouseBatchStatement batchStatement) {
+        BlockingQueue<ClickhouseBatchStatement> idleStatements = idleStatementMap.get(shard);
+        flushExecutor.execute(() -> {
+            try {
+                if (flushException == null) {
+                    flush(shard, batchStatement);
+                }
+            } catch (Exception e) {
+                flushException = e;
+            } finally {
+                idleStatements.offer(batchStatement);
+            }
+        });
+        try {
+            statementMap.put(shard, idleStatements.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for clickhouse batch flush", e);
+        }
+        checkFlushException();
+    }
+
+    private void closeAsync() {
+        try {
+            if (flushException == null) {
+                for (Shard shard : new ArrayList<>(statementMap.keySet())) {
+                    ClickhouseBatchStatement batchStatement = statementMap.get(shard);
+                    if (batchStatement.getIntHolder().getValue() > 0) {
+                        flushAsync(shard, batchStatement);
+                    }
+                }
+            }
+        } finally {
+            // a batch failing while the last ones are handed off must not leak the executor or the connections
+            flushExecutor.shutdown();
+            try {
+                while (!flushExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOGGER.info("Waiting for the in-flight clickhouse batches to be flushed");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for clickhouse batch flush", e);
+            } finally {
+                // after the executor terminated, no statement is in flight any more
+                List<ClickhouseBatchStatement> needClosedStatements = new ArrayList<>(statementMap.values());
+                idleStatementMap.values().forEach(needClosedStatements::addAll);
+                needClosedStatements.forEach(this::closeBatchStatement);
+            }
+        }
+        checkFlushException();
+    }
+
+    private void closeBatchStatement(ClickhouseBatchStatement batchStatement) {
+        try (ClickHouseConnectionImpl needClosedConnection = batchStatement.getClickHouseConnection();
+             ClickHousePreparedStatementImpl needClosedStatement = batchStatement.getPreparedStatement()) {
+            batchStatement.getIntHolder().setValue(0);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close prepared statement.", e);
+        }
+    }
+
+    private void checkFlushException() {
+        if (flushException != null) {
+            throw new RuntimeException("Writing records to clickhouse failed.", flushException);
+        }
+    }
+
     private void addIntoBatch(Row row, ClickHousePreparedStatementImpl clickHouseStatement) {
         try {
-            for (int i = 0; i < fields.size(); i++) {
-                String fieldName = fields.get(i);
-                Object fieldValue = row.getField(fieldName);
+            for (int i = 0; i < fieldIndexes.length; i++) {
+                int fieldIndex = fieldIndexes[i];
+                Object fieldValue = fieldIndex < 0 ? null : row.getField(fieldIndex);
                 if (fieldValue == null) {
                     // field does not exist in row
                     // todo: do we need to transform to default value of each type
                     clickHouseStatement.setObject(i + 1, null);
                     continue;
                 }
-                String fieldType = tableSchema.get(fieldName);
-                fieldInjectFunctionMap
-                    .getOrDefault(fieldType, DEFAULT_INJECT_FUNCTION)
-                    .injectFields(clickHouseStatement, i + 1, fieldValue);
+                fieldInjectFunctions[i].injectFields(clickHouseStatement, i + 1, fieldValue);
             }
             clickHouseStatement.addBatch();
         } catch (SQLException e) {
@@ -160,15 +280,82 @@ public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
         }
     }
 
-    private void flush(ClickHouseStatement clickHouseStatement) {
+    /**
+     * Execute the batch with retry, a retryable failure ejects the replica and the batch is replayed on another
+     * replica of the same shard if there is any.
+     */
+    private void flush(Shard shard, ClickhouseBatchStatement batchStatement) {
+        boolean canFailover = replicaSelector.canFailover(shard);
         RetryUtils.Execution<Void, Exception> execution = () -> {
-            clickHouseStatement.executeBatch();
+            Shard replica = batchStatement.getReplica();
+            long start = System.currentTimeMillis();
+            try {
+                batchStatement.getPreparedStatement().executeBatch();
+            } catch (SQLException e) {
+                if (canFailover && isRetryable(e)) {
+                    LOGGER.warn("Insert into replica {} failed, fail over to another replica", replica.getJdbcUrl(), e);
+                    replicaSelector.eject(replica);
+                    switchReplica(shard, batchStatement);
+                }
+                throw e;
+            }
+            if (replicaSelector.recordLatency(replica, System.currentTimeMillis() - start)) {
+                LOGGER.warn("Replica {} is slow, it will not be written for a while", replica.getJdbcUrl());
+            }
             return null;
         };
         try {
             RetryUtils.retryWithException(execution, retryMaterial);
         } catch (Exception e) {
             throw new RuntimeException("Clickhouse execute batch statement error", e);
+        } finally {
+            batchStatement.getIntHolder().setValue(0);
+            if (batchStatement.getRows() != null) {
+                batchStatement.getRows().clear();
+            }
+        }
+        // the replica may be ejected by another statement, switch before the next batch
+        if (canFailover && replicaSelector.isEjected(batchStatement.getReplica())) {
+            switchReplica(shard, batchStatement);
+        }
+    }
+
+    private boolean isRetryable(Exception exception) {
+        if (exception instanceof SQLException) {
+            SQLException sqlException = (SQLException) exception;
+            return retryCodes.contains(sqlException.getErrorCode());
+        }
+        return false;
+    }
+
+    /**
+     * Move the statement to the selected replica of the shard, the rows of the current batch are replayed into the
+     * new statement.
+     */
+    private void switchReplica(Shard shard, ClickhouseBatchStatement batchStatement) {
+        Shard replica = replicaSelector.select(shard);
+        if (replica.equals(batchStatement.getReplica())) {
+            return;
+        }
+        Shard oldReplica = batchStatement.getReplica();
+        ClickHouseConnectionImpl oldConnection = batchStatement.getClickHouseConnection();
+        ClickHousePreparedStatementImpl oldStatement = batchStatement.getPreparedStatement();
+        ClickHouseConnectionImpl clickhouseConnection = getClickhouseConnection(replica);
+        try {
+            ClickHousePreparedStatementImpl preparedStatement =
+                (ClickHousePreparedStatementImpl) clickhouseConnection.prepareStatement(prepareSql);
+            for (Row row : batchStatement.getRows()) {
+                addIntoBatch(row, preparedStatement);
+            }
+            batchStatement.switchReplica(replica, clickhouseConnection, preparedStatement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Clickhouse prepare statement error", e);
+        }
+        try {
+            oldStatement.close();
+            oldConnection.close();
+        } catch (SQLException e) {
+            LOGGER.warn("Failed to close the statement of replica {}", oldReplica.getJdbcUrl(), e);
         }
     }
 
@@ -184,24 +371,49 @@ public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
 
     private Map<Shard, ClickhouseBatchStatement> initStatementMap() {
         Map<Shard, ClickhouseBatchStatement> result = new HashMap<>(16);
-        shardRouter.getShards().forEach((weight, shard) -> {
-            try {
-                ClickHouseConnectionImpl clickhouseConnection = clickhouseClient.getClickhouseConnection();
-                ClickHousePreparedStatementImpl preparedStatement =
-                    (ClickHousePreparedStatementImpl) clickhouseConnection.prepareStatement(prepareSql);
-                IntHolder intHolder = new IntHolder();
-                ClickhouseBatchStatement batchStatement =
-                    new ClickhouseBatchStatement(clickhouseConnection, preparedStatement, intHolder);
-                result.put(shard, batchStatement);
-            } catch (SQLException e) {
-                throw new RuntimeException("Clickhouse prepare statement error", e);
+        shardRouter.getShards().forEach((weight, shard) -> result.put(shard, createBatchStatement(shard)));
+        return result;
+    }
+
+    /**
+     * Each shard gets {@code maxInFlightBatches} extra statements, so that one batch can be filled while the others
+     * are flushing. The statement in {@link #statementMap} is the one being filled.
+     */
+    private Map<Shard, BlockingQueue<ClickhouseBatchStatement>> initIdleStatementMap() {
+        Map<Shard, BlockingQueue<ClickhouseBatchStatement>> result = new HashMap<>(16);
+        statementMap.keySet().forEach(shard -> {
+            BlockingQueue<ClickhouseBatchStatement> idleStatements = new ArrayBlockingQueue<>(maxInFlightBatches + 1);
+            for (int i = 0; i < maxInFlightBatches; i++) {
+                idleStatements.add(createBatchStatement(shard));
             }
+            result.put(shard, idleStatements);
         });
         return result;
     }
 
-    private Map<String, ClickhouseFieldInjectFunction> initFieldInjectFunctionMap() {
-        Map<String, ClickhouseFieldInjectFunction> result = new HashMap<>(16);
+    private ClickhouseBatchStatement createBatchStatement(Shard shard) {
+        try {
+            Shard replica = replicaSelector.select(shard);
+            ClickHouseConnectionImpl clickhouseConnection = getClickhouseConnection(replica);
+            ClickHousePreparedStatementImpl preparedStatement =
+                (ClickHousePreparedStatementImpl) clickhouseConnection.prepareStatement(prepareSql);
+            IntHolder intHolder = new IntHolder();
+            // the rows are only kept when the batch may be replayed on another replica
+            List<Row> rows = replicaSelector.canFailover(shard) ? new ArrayList<>(batchSize) : null;
+            return new ClickhouseBatchStatement(clickhouseConnection, preparedStatement, intHolder, replica, rows);
+        } catch (SQLException e) {
+            throw new RuntimeException("Clickhouse prepare statement error", e);
+        }
+    }
+
+    private ClickHouseConnectionImpl getClickhouseConnection(Shard replica) {
+        // write into the local table of each replica directly in split mode
+        return shardRouter.isSplitMode() ?
+            clickhouseClient.getClickhouseConnection(replica) : clickhouseClient.getClickhouseConnection();
+    }
+
+    private void initColumnPlan() {
+        List<String> rowFields = Arrays.asList(rowFieldNames);
         List<ClickhouseFieldInjectFunction> clickhouseFieldInjectFunctions = Lists.newArrayList(
             new ArrayInjectFunction(),
             new BigDecimalInjectFunction(),
@@ -214,8 +426,12 @@ public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
             new StringInjectFunction()
         );
         ClickhouseFieldInjectFunction defaultFunction = new StringInjectFunction();
-        // get field type
-        for (String field : fields) {
+        fieldIndexes = new int[fields.size()];
+        fieldInjectFunctions = new ClickhouseFieldInjectFunction[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            // -1 means the field does not exist in row
+            fieldIndexes[i] = rowFields.indexOf(field);
             ClickhouseFieldInjectFunction function = defaultFunction;
             String fieldType = tableSchema.get(field);
             for (ClickhouseFieldInjectFunction clickhouseFieldInjectFunction : clickhouseFieldInjectFunctions) {
@@ -224,8 +440,9 @@ public class ClickhouseOutputFormat extends RichOutputFormat<Row> {
                     break;
                 }
             }
-            result.put(field, function);
+            fieldInjectFunctions[i] = function;
         }
-        return result;
+        String shardKey = shardMetadata.getShardKey();
+        shardKeyIndex = StringUtils.isEmpty(shardKey) ? -1 : rowFields.indexOf(shardKey);
     }
 }
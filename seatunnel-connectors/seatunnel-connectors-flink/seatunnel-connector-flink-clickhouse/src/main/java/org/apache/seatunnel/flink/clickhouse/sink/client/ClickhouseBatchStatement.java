@@ -18,22 +18,40 @@
 package org.apache.seatunnel.flink.clickhouse.sink.client;
 
 import org.apache.seatunnel.flink.clickhouse.pojo.IntHolder;
+import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
 
+import org.apache.flink.types.Row;
 import ru.yandex.clickhouse.ClickHouseConnectionImpl;
 import ru.yandex.clickhouse.ClickHousePreparedStatementImpl;
 
+import java.util.List;
+
 public class ClickhouseBatchStatement {
 
-    private final ClickHouseConnectionImpl clickHouseConnection;
-    private final ClickHousePreparedStatementImpl preparedStatement;
+    private ClickHouseConnectionImpl clickHouseConnection;
+    private ClickHousePreparedStatementImpl preparedStatement;
     private final IntHolder intHolder;
+    // the replica the statement writes to
+    private Shard replica;
+    // the rows in the batch, kept to be replayed on another replica when fail over, null if it can't fail over
+    private final List<Row> rows;
 
     public ClickhouseBatchStatement(ClickHouseConnectionImpl clickHouseConnection,
                                     ClickHousePreparedStatementImpl preparedStatement,
                                     IntHolder intHolder) {
+        this(clickHouseConnection, preparedStatement, intHolder, null, null);
+    }
+
+    public ClickhouseBatchStatement(ClickHouseConnectionImpl clickHouseConnection,
+                                    ClickHousePreparedStatementImpl preparedStatement,
+                                    IntHolder intHolder,
+                                    Shard replica,
+                                    List<Row> rows) {
         this.clickHouseConnection = clickHouseConnection;
         this.preparedStatement = preparedStatement;
         this.intHolder = intHolder;
+        this.replica = replica;
+        this.rows = rows;
     }
 
     public ClickHouseConnectionImpl getClickHouseConnection() {
@@ -48,4 +66,23 @@ public class ClickhouseBatchStatement {
         return intHolder;
     }
 
+    public Shard getReplica() {
+        return replica;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Switch the statement to another replica, the old connection and statement should be closed by the caller.
+     */
+    public void switchReplica(Shard replica,
+                              ClickHouseConnectionImpl clickHouseConnection,
+                              ClickHousePreparedStatementImpl preparedStatement) {
+        this.replica = replica;
+        this.clickHouseConnection = clickHouseConnection;
+        this.preparedStatement = preparedStatement;
+    }
+
 }
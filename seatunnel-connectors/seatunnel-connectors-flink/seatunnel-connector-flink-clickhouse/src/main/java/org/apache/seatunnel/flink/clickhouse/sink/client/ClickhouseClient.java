@@ -18,12 +18,14 @@
 package org.apache.seatunnel.flink.clickhouse.sink.client;
 
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.CLICKHOUSE_PREFIX;
+import static org.apache.seatunnel.flink.clickhouse.ConfigKey.COMPRESSION;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.DATABASE;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.HOST;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.PASSWORD;
 import static org.apache.seatunnel.flink.clickhouse.ConfigKey.USERNAME;
 
 import org.apache.seatunnel.common.config.TypesafeConfigUtils;
+import org.apache.seatunnel.flink.clickhouse.pojo.ClickhouseCompression;
 import org.apache.seatunnel.flink.clickhouse.pojo.DistributedEngine;
 import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
 import org.apache.seatunnel.flink.clickhouse.sink.file.ClickhouseTable;
@@ -65,6 +67,12 @@ public class ClickhouseClient {
         }
         clickhouseProperties.put("user", config.getString(USERNAME));
         clickhouseProperties.put("password", config.getString(PASSWORD));
+        ClickhouseCompression compression = ClickhouseCompression.from(TypesafeConfigUtils.getConfig(config, COMPRESSION, ClickhouseCompression.NONE.getName()));
+        if (compression == ClickhouseCompression.LZ4) {
+            // the request body is compressed by the client and decompressed by the server
+            clickhouseProperties.put("decompress", "true");
+            clickhouseProperties.put("compress", "true");
+        }
         String jdbcUrl = "jdbc:clickhouse://" + config.getString(HOST) + "/" + config.getString(DATABASE);
         this.balancedClickhouseDataSource = new BalancedClickhouseDataSource(jdbcUrl, clickhouseProperties);
     }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.clickhouse.sink.client;
+
+import org.apache.seatunnel.flink.clickhouse.pojo.Shard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Select the replica to write of each shard. A replica that failed or was slow is ejected for a while, and another
+ * replica of the same shard will be selected during that time.
+ */
+public class ReplicaSelector {
+
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final ShardRouter shardRouter;
+    private final long ejectMillis;
+    private final long slowThresholdMillis;
+    // the time until which the replica is ejected
+    private final Map<Shard, Long> ejectedUntil = new ConcurrentHashMap<>(16);
+    // the exponentially weighted moving average of the insert latency of each replica
+    private final Map<Shard, Double> averageLatencies = new ConcurrentHashMap<>(16);
+
+    /**
+     * @param ejectMillis         how long a failed or slow replica is ejected.
+     * @param slowThresholdMillis the replica is ejected when its average insert latency exceeds this, 0 means never.
+     */
+    public ReplicaSelector(ShardRouter shardRouter, long ejectMillis, long slowThresholdMillis) {
+        this.shardRouter = shardRouter;
+        this.ejectMillis = ejectMillis;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    /**
+     * Select the replica to write of the given shard, the first replica that is not ejected will be selected. If all
+     * the replicas are ejected, the one which is ejected earliest will be selected.
+     *
+     * @param shard shard returned by the router.
+     * @return replica of the shard.
+     */
+    public Shard select(Shard shard) {
+        List<Shard> replicas = shardRouter.getReplicas(shard);
+        long now = System.currentTimeMillis();
+        Shard earliestEjected = null;
+        long earliestEjectedUntil = Long.MAX_VALUE;
+        for (Shard replica : replicas) {
+            long until = ejectedUntil.getOrDefault(replica, 0L);
+            if (until <= now) {
+                return replica;
+            }
+            if (until < earliestEjectedUntil) {
+                earliestEjected = replica;
+                earliestEjectedUntil = until;
+            }
+        }
+        return earliestEjected;
+    }
+
+    public void eject(Shard replica) {
+        ejectedUntil.put(replica, System.currentTimeMillis() + ejectMillis);
+        averageLatencies.remove(replica);
+    }
+
+    /**
+     * Record the latency of a successful insert, the replica will be ejected if it's slow.
+     *
+     * @return true if the replica is ejected.
+     */
+    public boolean recordLatency(Shard replica, long latencyMillis) {
+        if (slowThresholdMillis <= 0) {
+            return false;
+        }
+        double averageLatency = averageLatencies.merge(replica, (double) latencyMillis,
+            (average, latency) -> average * (1 - LATENCY_WEIGHT) + latency * LATENCY_WEIGHT);
+        if (averageLatency > slowThresholdMillis) {
+            eject(replica);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isEjected(Shard replica) {
+        return ejectedUntil.getOrDefault(replica, 0L) > System.currentTimeMillis();
+    }
+
+    /**
+     * If writing to the given shard can fail over to another replica.
+     */
+    public boolean canFailover(Shard shard) {
+        return shardRouter.getReplicas(shard).size() > 1;
+    }
+}
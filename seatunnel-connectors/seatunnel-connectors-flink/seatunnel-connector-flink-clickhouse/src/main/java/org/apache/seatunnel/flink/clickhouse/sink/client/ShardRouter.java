@@ -28,13 +28,18 @@ import org.apache.flink.types.Row;
 import ru.yandex.clickhouse.ClickHouseConnection;
 
 import java.io.Serializable;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ThreadLocalRandom;
 
+@SuppressWarnings("magicnumber")
 public class ShardRouter implements Serializable {
 
     private static final long serialVersionUID = -1L;
@@ -43,15 +48,20 @@ public class ShardRouter implements Serializable {
     private final String table;
     private int shardWeightCount;
     private final TreeMap<Integer, Shard> shards;
+    // all the replicas of each shard number, the first one is the shard in shards
+    private final Map<Integer, List<Shard>> replicas;
     private final String shardKey;
     private final String shardKeyType;
     private final boolean splitMode;
 
     private final XXHash64 hashInstance = XXHashFactory.fastestInstance().hash64();
     private final ThreadLocalRandom threadLocalRandom = ThreadLocalRandom.current();
+    // reused to hold the UTF-8 bytes of the shard key, the router is only used by one thread.
+    private byte[] shardKeyBuffer = new byte[64];
 
     public ShardRouter(ClickhouseClient clickhouseClient, ShardMetadata shardMetadata) {
         this.shards = new TreeMap<>();
+        this.replicas = new LinkedHashMap<>();
         this.shardKey = shardMetadata.getShardKey();
         this.shardKeyType = shardMetadata.getShardKeyType();
         this.splitMode = shardMetadata.getSplitMode();
@@ -66,14 +76,20 @@ public class ShardRouter implements Serializable {
                 DistributedEngine localTable = clickhouseClient.getClickhouseDistributedTable(connection, shardMetadata.getDatabase(), table);
                 this.shardTable = localTable.getTable();
                 List<Shard> shardList = clickhouseClient.getClusterShardList(connection, localTable.getClusterName(), localTable.getDatabase(), shardMetadata.getDefaultShard().getPort());
-                int weight = 0;
                 for (Shard shard : shardList) {
+                    replicas.computeIfAbsent(shard.getShardNum(), k -> new ArrayList<>()).add(shard);
+                }
+                int weight = 0;
+                for (List<Shard> shardReplicas : replicas.values()) {
+                    Shard shard = shardReplicas.get(0);
                     shards.put(weight, shard);
                     weight += shard.getShardWeight();
                 }
                 shardWeightCount = weight;
             } else {
-                shards.put(0, shardMetadata.getDefaultShard());
+                Shard defaultShard = shardMetadata.getDefaultShard();
+                shards.put(0, defaultShard);
+                replicas.put(defaultShard.getShardNum(), Collections.singletonList(defaultShard));
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -89,14 +105,118 @@ public class ShardRouter implements Serializable {
         if (!splitMode) {
             return shards.firstEntry().getValue();
         }
-        if (StringUtils.isEmpty(shardKey) || row.getField(shardKey) == null) {
+        return getShardByKey(StringUtils.isEmpty(shardKey) ? null : row.getField(shardKey));
+    }
+
+    /**
+     * Get the shard of the given shard key value, the value will be hashed by the UTF-8 bytes of its string
+     * representation, but integral numbers and strings are encoded without creating any intermediate object.
+     *
+     * @param shardKeyValue value of the shard key, random shard will be returned if it's null.
+     * @return shard of the value.
+     */
+    public Shard getShardByKey(Object shardKeyValue) {
+        if (!splitMode) {
+            return shards.firstEntry().getValue();
+        }
+        if (shardKeyValue == null) {
             return shards.lowerEntry(threadLocalRandom.nextInt(shardWeightCount + 1)).getValue();
         }
-        int offset = (int) (hashInstance.hash(ByteBuffer.wrap(row.getField(shardKey).toString().getBytes(StandardCharsets.UTF_8)), 0) & Long.MAX_VALUE % shardWeightCount);
+        int length = encodeShardKey(shardKeyValue);
+        int offset = (int) ((hashInstance.hash(shardKeyBuffer, 0, length, 0) & Long.MAX_VALUE) % shardWeightCount);
         return shards.lowerEntry(offset + 1).getValue();
     }
 
+    private int encodeShardKey(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long longValue = ((Number) value).longValue();
+            if (longValue != Long.MIN_VALUE) {
+                return encodeLong(longValue);
+            }
+        }
+        if (value instanceof String) {
+            return encodeUtf8((String) value);
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, shardKeyBuffer, 0, bytes.length);
+        return bytes.length;
+    }
+
+    /**
+     * Write the decimal digits of the value, the same as {@code Long.toString(value).getBytes()}.
+     */
+    private int encodeLong(long value) {
+        // 19 digits and the sign
+        ensureCapacity(20);
+        boolean negative = value < 0;
+        long remain = negative ? -value : value;
+        int position = 20;
+        do {
+            shardKeyBuffer[--position] = (byte) ('0' + remain % 10);
+            remain /= 10;
+        } while (remain != 0);
+        if (negative) {
+            shardKeyBuffer[--position] = '-';
+        }
+        int length = 20 - position;
+        System.arraycopy(shardKeyBuffer, position, shardKeyBuffer, 0, length);
+        return length;
+    }
+
+    /**
+     * Write the UTF-8 bytes of the value, the same as {@code value.getBytes(StandardCharsets.UTF_8)}.
+     */
+    private int encodeUtf8(String value) {
+        int length = value.length();
+        ensureCapacity(length * 3);
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                shardKeyBuffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                shardKeyBuffer[position++] = (byte) (0xC0 | (c >> 6));
+                shardKeyBuffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                shardKeyBuffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                shardKeyBuffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                shardKeyBuffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                shardKeyBuffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // malformed surrogate, replaced by '?' as String.getBytes does
+                shardKeyBuffer[position++] = '?';
+            } else {
+                shardKeyBuffer[position++] = (byte) (0xE0 | (c >> 12));
+                shardKeyBuffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                shardKeyBuffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (shardKeyBuffer.length < capacity) {
+            shardKeyBuffer = Arrays.copyOf(shardKeyBuffer, Math.max(capacity, shardKeyBuffer.length * 2));
+        }
+    }
+
     public TreeMap<Integer, Shard> getShards() {
         return shards;
     }
+
+    /**
+     * Get all the replicas of the given shard.
+     *
+     * @param shard shard returned by this router.
+     * @return replicas of the shard, the shard itself is the first one.
+     */
+    public List<Shard> getReplicas(Shard shard) {
+        return replicas.getOrDefault(shard.getShardNum(), Collections.singletonList(shard));
+    }
+
+    public boolean isSplitMode() {
+        return splitMode;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.clickhouse.sink.file;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.flink.types.Row;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The rows of one shard spilled into a local TSV file, which will be fed to clickhouse-local to generate parts.
+ */
+public class ClickhouseStagingFile implements Closeable {
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+    private static final String NULL_VALUE = "\\N";
+    private static final String DATA_FILE_NAME = "local_data.tsv";
+
+    private final String uuid;
+    private final String directory;
+    private final File dataFile;
+    private final CountingOutputStream countingOutputStream;
+    private final Writer writer;
+    private long rowCount;
+
+    /**
+     * @param uuid      uuid of the staging file, used as the name of the clickhouse-local temp table.
+     * @param directory directory of the staging file, also used as the path of clickhouse-local.
+     */
+    public ClickhouseStagingFile(String uuid, String directory) throws IOException {
+        this.uuid = uuid;
+        this.directory = directory;
+        this.dataFile = new File(directory, DATA_FILE_NAME);
+        this.countingOutputStream = new CountingOutputStream(
+            new BufferedOutputStream(new FileOutputStream(dataFile), WRITE_BUFFER_SIZE));
+        this.writer = new OutputStreamWriter(countingOutputStream, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Append the row as a TSV line.
+     *
+     * @param row    row to append.
+     * @param fields fields of the row to append.
+     */
+    public void append(Row row, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            Object value = row.getField(fields.get(i));
+            writer.write(value == null ? NULL_VALUE : value.toString());
+        }
+        writer.write('\n');
+        rowCount++;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public File getDataFile() {
+        return dataFile;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The bytes that have been encoded, the chars still in the encoder of the writer are not counted.
+     */
+    public long getByteCount() {
+        return countingOutputStream.getByteCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.clickhouse.sink.file;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Move the clickhouse file into the detached directory of a clickhouse server on the same host, no network copy is
+ * needed. The file is renamed when it is on the same file system as the target, otherwise it will be copied.
+ */
+public class LocalFileTransfer implements FileTransfer {
+
+    @Override
+    public void init() {
+        // nothing to init
+    }
+
+    @Override
+    public void transferAndChown(String sourcePath, String targetPath) {
+        Path source = Paths.get(sourcePath);
+        Path targetDirectory = Paths.get(targetPath);
+        Path target = targetDirectory.resolve(source.getFileName());
+        try {
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // not on the same file system
+                FileUtils.copyDirectory(source.toFile(), target.toFile(), true);
+            }
+            // Only file owner equal with server's clickhouse user can make ATTACH command work, files are only
+            // chowned when the owner is different, which needs the privilege of the owner.
+            UserPrincipal owner = Files.getOwner(targetDirectory);
+            if (!owner.equals(Files.getOwner(target))) {
+                try (Stream<Path> paths = Files.walk(target)) {
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        Files.setOwner(path, owner);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to move file: " + sourcePath + " to: " + targetPath, e);
+        }
+    }
+
+    @Override
+    public void transferAndChown(List<String> sourcePaths, String targetPath) {
+        if (sourcePaths == null) {
+            throw new IllegalArgumentException("sourcePath is null");
+        }
+        sourcePaths.forEach(sourcePath -> transferAndChown(sourcePath, targetPath));
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    /**
+     * Check if the given host is the current machine.
+     *
+     * @param host host name or address.
+     * @return true if the host is bound to one of the network interfaces of the current machine.
+     */
+    public static boolean isLocalHost(String host) {
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (address.isLoopbackAddress() || address.isAnyLocalAddress()
+                    || NetworkInterface.getByInetAddress(address) != null) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (UnknownHostException | SocketException e) {
+            return false;
+        }
+    }
+}
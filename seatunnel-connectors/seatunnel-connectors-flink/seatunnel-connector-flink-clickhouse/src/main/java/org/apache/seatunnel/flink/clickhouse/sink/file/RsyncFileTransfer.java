@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.clickhouse.sink.file;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transfer the clickhouse file by rsync over ssh with compression, {@code rsync} and {@code ssh} should be installed
+ * on the current machine, and {@code sshpass} should be installed when the password of the node is given.
+ */
+public class RsyncFileTransfer implements FileTransfer {
+
+    private static final String SSH_COMMAND = "ssh -o StrictHostKeyChecking=no";
+
+    private final String host;
+    private final String password;
+
+    public RsyncFileTransfer(String host, String password) {
+        this.host = host;
+        this.password = password;
+    }
+
+    @Override
+    public void init() {
+        // rsync runs a new process for each transfer, nothing to init
+    }
+
+    @Override
+    public void transferAndChown(String sourcePath, String targetPath) {
+        transferAndChown(Collections.singletonList(sourcePath), targetPath);
+    }
+
+    @Override
+    public void transferAndChown(List<String> sourcePaths, String targetPath) {
+        if (sourcePaths == null) {
+            throw new IllegalArgumentException("sourcePath is null");
+        }
+        if (sourcePaths.isEmpty()) {
+            return;
+        }
+        List<String> command = withPassword();
+        command.add("rsync");
+        command.add("--archive");
+        command.add("--compress");
+        command.add("-e");
+        command.add(SSH_COMMAND);
+        command.addAll(sourcePaths);
+        command.add("root@" + host + ":" + targetPath);
+        execute(command);
+
+        // remote exec command to change file owner. Only file owner equal with server's clickhouse user can
+        // make ATTACH command work.
+        List<String> chownCommand = withPassword();
+        chownCommand.addAll(Arrays.asList(SSH_COMMAND.split(" ")));
+        chownCommand.add("root@" + host);
+        chownCommand.add("ls -l " + targetPath.substring(0, targetPath.lastIndexOf("/"))
+            + "/ | tail -n 1 | awk '{print $3}' | xargs -t -i chown -R {}:{} " + targetPath);
+        execute(chownCommand);
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    private List<String> withPassword() {
+        List<String> command = new ArrayList<>();
+        if (password != null) {
+            // the password is passed by environment variable, so it can't be seen from the process list
+            command.add("sshpass");
+            command.add("-e");
+        }
+        return command;
+    }
+
+    private void execute(List<String> command) {
+        try {
+            ProcessBuilder processBuilder = new ProcessBuilder(command).redirectErrorStream(true);
+            if (password != null) {
+                processBuilder.environment().put("SSHPASS", password);
+            }
+            Process process = processBuilder.start();
+            String output;
+            try (InputStream inputStream = process.getInputStream()) {
+                output = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("exit code " + exitCode + ", output: " + output);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to execute rsync command on host: " + host, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while executing rsync command on host: " + host, e);
+        }
+    }
+}
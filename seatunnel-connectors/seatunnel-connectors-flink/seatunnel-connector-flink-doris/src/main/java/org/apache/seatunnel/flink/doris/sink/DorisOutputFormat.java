@@ -20,21 +20,27 @@ package org.apache.seatunnel.flink.doris.sink;
 import org.apache.flink.api.common.io.RichOutputFormat;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.runtime.util.ExecutorThreadFactory;
-import org.apache.flink.shaded.guava18.com.google.common.collect.Maps;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.io.SerializedString;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.types.Row;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Properties;
-import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,10 +68,27 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
     private final int batchSize;
     private final int maxRetries;
     private final long batchIntervalMs;
-    private final List<Object> batch = new ArrayList<>();
+    private final boolean asyncFlush;
+    private final int maxInFlightBatches;
     private String fieldDelimiter;
     private String lineDelimiter;
     private final DorisStreamLoad dorisStreamLoad;
+    /**
+     * The rows are written into this buffer directly, it is reused by the following batches after being loaded.
+     */
+    private transient ByteArrayOutputStream batchBuffer;
+    private transient int batchRows;
+    private transient JsonGenerator jsonGenerator;
+    private transient SerializedString[] fieldNameTokens;
+    private transient byte[] fieldDelimiterBytes;
+    private transient byte[] lineDelimiterBytes;
+    private transient byte[] nullValueBytes;
+    /**
+     * When asyncFlush is true, the buffers which are not being loaded or filled, taking one blocks until a load
+     * finishes.
+     */
+    private transient BlockingQueue<ByteArrayOutputStream> idleBuffers;
+    private transient ExecutorService loadExecutor;
     private transient ScheduledExecutorService scheduler;
     private transient ScheduledFuture<?> scheduledFuture;
     private transient volatile Exception flushException;
@@ -74,12 +97,21 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
     public DorisOutputFormat(DorisStreamLoad dorisStreamLoad,
                              String[] fieldNames,
                              int batchSize, long batchIntervalMs, int maxRetries) {
+        this(dorisStreamLoad, fieldNames, batchSize, batchIntervalMs, maxRetries, false, 1);
+    }
+
+    public DorisOutputFormat(DorisStreamLoad dorisStreamLoad,
+                             String[] fieldNames,
+                             int batchSize, long batchIntervalMs, int maxRetries,
+                             boolean asyncFlush, int maxInFlightBatches) {
         this.dorisStreamLoad = dorisStreamLoad;
         parseDelimiter();
         this.fieldNames = fieldNames;
         this.batchSize = batchSize;
         this.batchIntervalMs = batchIntervalMs;
         this.maxRetries = maxRetries;
+        this.asyncFlush = asyncFlush;
+        this.maxInFlightBatches = maxInFlightBatches;
         this.jsonFormat = FORMAT_JSON_VALUE.equals(dorisStreamLoad.getStreamLoadProp().getProperty(FORMAT_KEY));
     }
 
@@ -119,6 +151,22 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
 
     @Override
     public void open(int taskNumber, int numTasks) {
+        this.batchBuffer = new ByteArrayOutputStream();
+        this.fieldNameTokens = new SerializedString[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fieldNameTokens[i] = new SerializedString(fieldNames[i]);
+        }
+        this.fieldDelimiterBytes = fieldDelimiter.getBytes(StandardCharsets.UTF_8);
+        this.lineDelimiterBytes = lineDelimiter.getBytes(StandardCharsets.UTF_8);
+        this.nullValueBytes = NULL_VALUE.getBytes(StandardCharsets.UTF_8);
+        if (asyncFlush) {
+            this.idleBuffers = new ArrayBlockingQueue<>(maxInFlightBatches);
+            for (int i = 0; i < maxInFlightBatches; i++) {
+                idleBuffers.add(new ByteArrayOutputStream());
+            }
+            this.loadExecutor = new ThreadPoolExecutor(maxInFlightBatches, maxInFlightBatches, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), new ExecutorThreadFactory("doris-streamload-loader"));
+        }
         if (batchIntervalMs > 0 && batchSize != 1) {
             this.scheduler = new ScheduledThreadPoolExecutor(1, new ExecutorThreadFactory("doris-streamload-outputformat"));
             this.scheduledFuture = this.scheduler.scheduleWithFixedDelay(() -> {
@@ -145,34 +193,96 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
     public synchronized void writeRecord(T row) throws IOException {
         checkFlushException();
         addBatch(row);
-        if (batchSize > 0 && batch.size() >= batchSize) {
+        if (batchSize > 0 && batchRows >= batchSize) {
             flush();
         }
     }
 
-    private void addBatch(T row) {
+    private void addBatch(T row) throws IOException {
         if (row instanceof Row) {
-            Row rowData = (Row) row;
-            Map<String, String> valueMap = Maps.newHashMap();
-            StringJoiner value = new StringJoiner(this.fieldDelimiter);
-            for (int i = 0; i < rowData.getArity(); ++i) {
-                Object field = rowData.getField(i);
-                if (jsonFormat) {
-                    String data = field != null ? field.toString() : null;
-                    valueMap.put(this.fieldNames[i], data);
-                } else {
-                    String data = field != null ? field.toString() : NULL_VALUE;
-                    value.add(data);
-                }
+            if (jsonFormat) {
+                writeJsonRow((Row) row);
+            } else {
+                writeCsvRow((Row) row);
             }
-            Object data = jsonFormat ? valueMap : value.toString();
-            batch.add(data);
-
         } else if (row instanceof String) {
-            batch.add(row);
+            if (jsonFormat) {
+                startJsonBatch();
+                jsonGenerator.writeRawValue((String) row);
+            } else {
+                if (batchRows > 0) {
+                    batchBuffer.write(lineDelimiterBytes);
+                }
+                batchBuffer.write(((String) row).getBytes(StandardCharsets.UTF_8));
+            }
         } else {
             throw new RuntimeException("The type of element should be 'RowData' or 'String' only.");
         }
+        batchRows++;
+    }
+
+    private void writeCsvRow(Row rowData) throws IOException {
+        if (batchRows > 0) {
+            batchBuffer.write(lineDelimiterBytes);
+        }
+        for (int i = 0; i < rowData.getArity(); ++i) {
+            if (i > 0) {
+                batchBuffer.write(fieldDelimiterBytes);
+            }
+            Object field = rowData.getField(i);
+            batchBuffer.write(field != null ? field.toString().getBytes(StandardCharsets.UTF_8) : nullValueBytes);
+        }
+    }
+
+    /**
+     * Write the row as a json object into the batch, numbers and booleans are kept as they are.
+     */
+    private void writeJsonRow(Row rowData) throws IOException {
+        startJsonBatch();
+        jsonGenerator.writeStartObject();
+        for (int i = 0; i < rowData.getArity(); ++i) {
+            jsonGenerator.writeFieldName(fieldNameTokens[i]);
+            Object field = rowData.getField(i);
+            if (field == null) {
+                jsonGenerator.writeNull();
+            } else if (field instanceof Integer || field instanceof Short || field instanceof Byte) {
+                jsonGenerator.writeNumber(((Number) field).intValue());
+            } else if (field instanceof Long) {
+                jsonGenerator.writeNumber((Long) field);
+            } else if (field instanceof Double) {
+                jsonGenerator.writeNumber((Double) field);
+            } else if (field instanceof Float) {
+                // widening to double would write 0.1f as 0.10000000149011612
+                jsonGenerator.writeNumber((Float) field);
+            } else if (field instanceof BigDecimal) {
+                jsonGenerator.writeNumber((BigDecimal) field);
+            } else if (field instanceof BigInteger) {
+                jsonGenerator.writeNumber((BigInteger) field);
+            } else if (field instanceof Boolean) {
+                jsonGenerator.writeBoolean((Boolean) field);
+            } else {
+                jsonGenerator.writeString(field.toString());
+            }
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+    private void startJsonBatch() throws IOException {
+        if (jsonGenerator == null) {
+            jsonGenerator = OBJECT_MAPPER.getFactory().createGenerator(batchBuffer);
+            jsonGenerator.writeStartArray();
+        }
+    }
+
+    /**
+     * Complete the data in the batch buffer, so that it can be loaded.
+     */
+    private void finishBatch() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.writeEndArray();
+            jsonGenerator.close();
+            jsonGenerator = null;
+        }
     }
 
     @Override
@@ -189,6 +299,8 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
                 flush();
             } catch (Exception e) {
                 throw new RuntimeException("Writing records to doris failed.", e);
+            } finally {
+                closeLoadExecutor();
             }
         }
         checkFlushException();
@@ -196,23 +308,63 @@ public class DorisOutputFormat<T> extends RichOutputFormat<T> {
 
     public synchronized void flush() throws IOException {
         checkFlushException();
-        if (batch.isEmpty()) {
+        if (batchRows == 0) {
             return;
         }
-        String result;
-        if (jsonFormat) {
-            if (batch.get(0) instanceof String) {
-                result = batch.toString();
-            } else {
-                result = OBJECT_MAPPER.writeValueAsString(batch);
+        finishBatch();
+        if (asyncFlush) {
+            flushAsync();
+            return;
+        }
+        load(batchBuffer);
+        batchBuffer.reset();
+        batchRows = 0;
+    }
+
+    /**
+     * Hand the batch to a loader and take an idle buffer for the next batch, it blocks when maxInFlightBatches batches
+     * are being loaded. The failure of the load is thrown by the next writeRecord or close.
+     */
+    private void flushAsync() throws IOException {
+        ByteArrayOutputStream loadBuffer = batchBuffer;
+        try {
+            batchBuffer = idleBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("unable to flush; interrupted while waiting for an idle loader", e);
+        }
+        batchRows = 0;
+        loadExecutor.execute(() -> {
+            try {
+                load(loadBuffer);
+            } catch (Exception e) {
+                flushException = e;
+            } finally {
+                loadBuffer.reset();
+                idleBuffers.add(loadBuffer);
             }
-        } else {
-            result = String.join(this.lineDelimiter, batch.toArray(new CharSequence[batch.size()]));
+        });
+    }
+
+    private void closeLoadExecutor() {
+        if (loadExecutor == null) {
+            return;
+        }
+        loadExecutor.shutdown();
+        try {
+            while (!loadExecutor.awaitTermination(batchIntervalMs > 0 ? batchIntervalMs : DEFAULT_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                LOGGER.info("waiting for the doris stream loads to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for the doris stream loads to finish", e);
         }
+    }
+
+    private void load(ByteArrayOutputStream data) throws IOException {
         for (int i = 0; i <= maxRetries; i++) {
             try {
-                dorisStreamLoad.load(result);
-                batch.clear();
+                dorisStreamLoad.load(data);
                 break;
             } catch (Exception e) {
                 LOGGER.error("doris sink error, retry times = {}", i, e);
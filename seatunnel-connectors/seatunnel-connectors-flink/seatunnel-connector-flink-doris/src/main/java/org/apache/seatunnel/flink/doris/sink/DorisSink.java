@@ -45,6 +45,8 @@ public class DorisSink implements FlinkStreamSink, FlinkBatchSink {
     private static final int DEFAULT_BATCH_SIZE = 5000;
     private static final long DEFAULT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(5);
     private static final String PARALLELISM = "parallelism";
+    private static final String ASYNC_FLUSH = "async_flush";
+    private static final String MAX_IN_FLIGHT_BATCHES = "max_in_flight_batches";
 
     private Config config;
     private String fenodes;
@@ -55,6 +57,8 @@ public class DorisSink implements FlinkStreamSink, FlinkBatchSink {
     private int batchSize = DEFAULT_BATCH_SIZE;
     private long batchIntervalMs = DEFAULT_INTERVAL_MS;
     private int maxRetries = 1;
+    private boolean asyncFlush = false;
+    private int maxInFlightBatches = 1;
     private final Properties streamLoadProp = new Properties();
 
     @Override
@@ -91,6 +95,13 @@ public class DorisSink implements FlinkStreamSink, FlinkBatchSink {
             maxRetries = config.getInt("max_retries");
             Preconditions.checkArgument(maxRetries > 0, "max_retries must be greater than 0");
         }
+        if (config.hasPath(ASYNC_FLUSH)) {
+            asyncFlush = config.getBoolean(ASYNC_FLUSH);
+        }
+        if (config.hasPath(MAX_IN_FLIGHT_BATCHES)) {
+            maxInFlightBatches = config.getInt(MAX_IN_FLIGHT_BATCHES);
+            Preconditions.checkArgument(maxInFlightBatches > 0, "max_in_flight_batches must be greater than 0");
+        }
 
         String producerPrefix = "doris.";
         PropertiesUtil.setProperties(config, streamLoadProp, producerPrefix, false);
@@ -109,7 +120,7 @@ public class DorisSink implements FlinkStreamSink, FlinkBatchSink {
         String[] fieldNames = table.getSchema().getFieldNames();
 
         DorisStreamLoad dorisStreamLoad = new DorisStreamLoad(fenodes, dbName, tableName, username, password, streamLoadProp);
-        DataSink<Row> rowDataSink = dataSet.output(new DorisOutputFormat<>(dorisStreamLoad, fieldNames, batchSize, batchIntervalMs, maxRetries));
+        DataSink<Row> rowDataSink = dataSet.output(new DorisOutputFormat<>(dorisStreamLoad, fieldNames, batchSize, batchIntervalMs, maxRetries, asyncFlush, maxInFlightBatches));
         if (config.hasPath(PARALLELISM)) {
             int parallelism = config.getInt(PARALLELISM);
             rowDataSink.setParallelism(parallelism);
@@ -123,7 +134,7 @@ public class DorisSink implements FlinkStreamSink, FlinkBatchSink {
         String[] fieldNames = table.getSchema().getFieldNames();
 
         DorisStreamLoad dorisStreamLoad = new DorisStreamLoad(fenodes, dbName, tableName, username, password, streamLoadProp);
-        DataStreamSink<Row> rowDataStreamSink = dataStream.addSink(new DorisSinkFunction<>(new DorisOutputFormat<>(dorisStreamLoad, fieldNames, batchSize, batchIntervalMs, maxRetries)));
+        DataStreamSink<Row> rowDataStreamSink = dataStream.addSink(new DorisSinkFunction<>(new DorisOutputFormat<>(dorisStreamLoad, fieldNames, batchSize, batchIntervalMs, maxRetries, asyncFlush, maxInFlightBatches)));
         if (config.hasPath(PARALLELISM)) {
             int parallelism = config.getInt(PARALLELISM);
             rowDataStreamSink.setParallelism(parallelism);
@@ -22,11 +22,12 @@ import org.apache.flink.shaded.netty4.io.netty.handler.codec.http.HttpResponseSt
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
@@ -39,9 +40,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * doris streamLoad
+ * doris streamLoad.
+ * <p>
+ * The connections are not disconnected after each load, and the responses are fully read, so that the keep-alive
+ * connections are pooled and reused by {@link HttpURLConnection}. The backends redirected by frontend are cached, the
+ * following loads are sent to them in turn directly, and a load is redirected by frontend again every
+ * {@link #BACKEND_REFRESH_INTERVAL} loads to discover the other backends.
  */
 public class DorisStreamLoad implements Serializable {
 
@@ -50,13 +58,21 @@ public class DorisStreamLoad implements Serializable {
     private static final List<String> DORIS_SUCCESS_STATUS = Arrays.asList("Success", "Publish Timeout");
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final String LOAD_URL_PATTERN = "http://%s/api/%s/%s/_stream_load?";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int BACKEND_REFRESH_INTERVAL = 10;
 
     private final String loadUrlStr;
+    private final String db;
+    private final String tbl;
     private final String authEncoding;
     private final Properties streamLoadProp;
+    private final List<String> backends = new CopyOnWriteArrayList<>();
+    private final AtomicLong loadCount = new AtomicLong();
 
     public DorisStreamLoad(String hostPort, String db, String tbl, String user, String passwd, Properties streamLoadProp) {
         this.loadUrlStr = String.format(LOAD_URL_PATTERN, hostPort, db, tbl);
+        this.db = db;
+        this.tbl = tbl;
         this.authEncoding = Base64.getEncoder().encodeToString(String.format("%s:%s", user, passwd).getBytes(StandardCharsets.UTF_8));
         this.streamLoadProp = streamLoadProp;
     }
@@ -83,7 +99,19 @@ public class DorisStreamLoad implements Serializable {
     }
 
     public void load(String value) {
-        LoadResponse loadResponse = loadBatch(value);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.write(bytes, 0, bytes.length);
+        load(data);
+    }
+
+    /**
+     * Load the data in the buffer, which is written to the connection directly with chunked transfer encoding.
+     *
+     * @param data the data to load, it is not changed by this method.
+     */
+    public void load(ByteArrayOutputStream data) {
+        LoadResponse loadResponse = loadBatch(data);
         LOGGER.info("Streamload Response:{}", loadResponse);
         if (loadResponse.status != HttpResponseStatus.OK.code()) {
             throw new RuntimeException("stream load error: " + loadResponse.respContent);
@@ -101,55 +129,99 @@ public class DorisStreamLoad implements Serializable {
         }
     }
 
-    private LoadResponse loadBatch(String data) {
+    private LoadResponse loadBatch(ByteArrayOutputStream data) {
         String formatDate = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
         String label = String.format("flink_sink_%s_%s", formatDate,
                 UUID.randomUUID().toString().replaceAll("-", ""));
 
-        HttpURLConnection feConn = null;
-        HttpURLConnection beConn = null;
-        try {
-            // build request and send to fe
-            feConn = getConnection(loadUrlStr, label);
-            int status = feConn.getResponseCode();
-            // fe send back http response code TEMPORARY_REDIRECT 307 and new be location
-            if (status != HttpResponseStatus.TEMPORARY_REDIRECT.code()) {
-                throw new Exception("status is not TEMPORARY_REDIRECT 307, status: " + status);
-            }
-            String location = feConn.getHeaderField("Location");
-            if (location == null) {
-                throw new Exception("redirect location is null");
-            }
-            // build request and send to new be location
-            beConn = getConnection(location, label);
-            // send data to be
-            BufferedOutputStream bos = new BufferedOutputStream(beConn.getOutputStream());
-            bos.write(data.getBytes());
-            bos.close();
-
-            // get respond
-            status = beConn.getResponseCode();
-            String respMsg = beConn.getResponseMessage();
-            InputStream stream = (InputStream) beConn.getContent();
-            BufferedReader br = new BufferedReader(new InputStreamReader(stream));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = br.readLine()) != null) {
-                response.append(line);
+        String backend = selectBackend();
+        if (backend != null) {
+            try {
+                return sendData(String.format(LOAD_URL_PATTERN, backend, db, tbl), label, data);
+            } catch (IOException e) {
+                // the data is not accepted by this backend, so the same label can be loaded by another one
+                LOGGER.warn("failed to stream load data with label:{} to backend {}, redirect by frontend", label, backend, e);
+                backends.remove(backend);
             }
-            return new LoadResponse(status, respMsg, response.toString());
+        }
+        try {
+            String location = redirect(label);
+            cacheBackend(location);
+            return sendData(location, label, data);
         } catch (Exception e) {
             String err = "failed to stream load data with label:" + label;
             LOGGER.warn(err, e);
-            throw new RuntimeException("stream load error: " + err);
-        } finally {
-            if (feConn != null) {
-                feConn.disconnect();
-            }
-            if (beConn != null) {
-                beConn.disconnect();
+            throw new RuntimeException("stream load error: " + err, e);
+        }
+    }
+
+    private String selectBackend() {
+        long count = loadCount.getAndIncrement();
+        int size = backends.size();
+        if (size == 0 || count % BACKEND_REFRESH_INTERVAL == 0) {
+            return null;
+        }
+        try {
+            return backends.get((int) (count % size));
+        } catch (IndexOutOfBoundsException e) {
+            // the backend has been removed by other load
+            return null;
+        }
+    }
+
+    private void cacheBackend(String location) throws IOException {
+        String backend = new URL(location).getAuthority();
+        if (!backends.contains(backend)) {
+            backends.add(backend);
+        }
+    }
+
+    private String redirect(String label) throws Exception {
+        // build request and send to fe
+        HttpURLConnection feConn = getConnection(loadUrlStr, label);
+        int status = feConn.getResponseCode();
+        readResponse(feConn, status);
+        // fe send back http response code TEMPORARY_REDIRECT 307 and new be location
+        if (status != HttpResponseStatus.TEMPORARY_REDIRECT.code()) {
+            throw new Exception("status is not TEMPORARY_REDIRECT 307, status: " + status);
+        }
+        String location = feConn.getHeaderField("Location");
+        if (location == null) {
+            throw new Exception("redirect location is null");
+        }
+        return location;
+    }
+
+    private LoadResponse sendData(String url, String label, ByteArrayOutputStream data) throws IOException {
+        // build request and send to be
+        HttpURLConnection beConn = getConnection(url, label);
+        beConn.setChunkedStreamingMode(CHUNK_SIZE);
+        try (OutputStream outputStream = beConn.getOutputStream()) {
+            data.writeTo(outputStream);
+        }
+
+        // get respond
+        int status = beConn.getResponseCode();
+        String respMsg = beConn.getResponseMessage();
+        return new LoadResponse(status, respMsg, readResponse(beConn, status));
+    }
+
+    /**
+     * Read the response fully and close it, so that the connection can be reused.
+     */
+    private String readResponse(HttpURLConnection conn, int status) throws IOException {
+        InputStream stream = status < HttpResponseStatus.BAD_REQUEST.code() ? conn.getInputStream() : conn.getErrorStream();
+        if (stream == null) {
+            return "";
+        }
+        StringBuilder response = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                response.append(line);
             }
         }
+        return response.toString();
     }
 
     public static class LoadResponse {
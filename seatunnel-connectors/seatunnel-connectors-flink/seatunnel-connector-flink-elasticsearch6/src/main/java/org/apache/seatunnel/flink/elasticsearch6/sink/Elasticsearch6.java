@@ -17,14 +17,35 @@
 
 package org.apache.seatunnel.flink.elasticsearch6.sink;
 
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_DELAY;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_ENABLE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_RETRIES;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_TYPE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_INTERVAL;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_MAX_ACTIONS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_MAX_SIZE_MB;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_DELAY;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_RETRIES;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_TYPE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_INTERVAL;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_MAX_ACTIONS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_MAX_SIZE_MB;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_FAILURE_HANDLER;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_ID_DELIMITER;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_INDEX;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_INDEX_TIME_FORMAT;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_INDEX_TYPE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_WRITE_MODE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.FAILURE_HANDLER;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.HOSTS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.ID_DELIMITER;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.ID_FIELDS;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.INDEX;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.INDEX_TIME_FORMAT;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.INDEX_TYPE;
 import static org.apache.seatunnel.flink.elasticsearch6.config.Config.PARALLELISM;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.ROUTING_FIELDS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.WRITE_MODE;
 
 import org.apache.seatunnel.common.config.CheckConfigUtil;
 import org.apache.seatunnel.common.config.CheckResult;
@@ -40,14 +61,17 @@ import org.apache.flink.api.java.DataSet;
 import org.apache.flink.api.java.operators.DataSink;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.connectors.elasticsearch.ActionRequestFailureHandler;
+import org.apache.flink.streaming.connectors.elasticsearch.ElasticsearchSinkBase;
 import org.apache.flink.streaming.connectors.elasticsearch.ElasticsearchSinkFunction;
+import org.apache.flink.streaming.connectors.elasticsearch.util.NoOpFailureHandler;
+import org.apache.flink.streaming.connectors.elasticsearch.util.RetryRejectedExecutionFailureHandler;
 import org.apache.flink.streaming.connectors.elasticsearch6.ElasticsearchSink;
 import org.apache.flink.types.Row;
 import org.apache.http.HttpHost;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.client.Requests;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,7 +79,9 @@ import java.util.Map;
 public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
 
     private static final long serialVersionUID = 8445868321245456793L;
-    private static final int DEFAULT_CONFIG_SIZE = 3;
+    private static final int DEFAULT_CONFIG_SIZE = 5;
+    private static final String INDEX_MODE = "index";
+    private static final String UPSERT_MODE = "upsert";
 
     private Config config;
     private String indexName;
@@ -72,7 +98,18 @@ public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
 
     @Override
     public CheckResult checkConfig() {
-        return CheckConfigUtil.checkAllExists(config, HOSTS);
+        CheckResult checkResult = CheckConfigUtil.checkAllExists(config, HOSTS);
+        if (checkResult.isSuccess() && config.hasPath(WRITE_MODE)) {
+            String writeMode = config.getString(WRITE_MODE);
+            if (!INDEX_MODE.equals(writeMode) && !UPSERT_MODE.equals(writeMode)) {
+                return CheckResult.error(String.format("%s only supports %s and %s, but got %s",
+                        WRITE_MODE, INDEX_MODE, UPSERT_MODE, writeMode));
+            }
+            if (UPSERT_MODE.equals(writeMode) && !config.hasPath(ID_FIELDS)) {
+                return CheckResult.error(String.format("%s requires %s", UPSERT_MODE, ID_FIELDS));
+            }
+        }
+        return checkResult;
     }
 
     @Override
@@ -81,6 +118,8 @@ public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
         configMap.put(INDEX, DEFAULT_INDEX);
         configMap.put(INDEX_TYPE, DEFAULT_INDEX_TYPE);
         configMap.put(INDEX_TIME_FORMAT, DEFAULT_INDEX_TIME_FORMAT);
+        configMap.put(ID_DELIMITER, DEFAULT_ID_DELIMITER);
+        configMap.put(WRITE_MODE, DEFAULT_WRITE_MODE);
         Config defaultConfig = ConfigFactory.parseMap(configMap);
         config = config.withFallback(defaultConfig);
     }
@@ -102,12 +141,9 @@ public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
         RowTypeInfo rowTypeInfo = (RowTypeInfo) dataStream.getType();
         indexName = StringTemplate.substitute(config.getString(INDEX), config.getString(INDEX_TIME_FORMAT));
         ElasticsearchSink.Builder<Row> esSinkBuilder = new ElasticsearchSink.Builder<>(
-                httpHosts, (ElasticsearchSinkFunction<Row>) (element, ctx, indexer) ->
-                indexer.add(createIndexRequest(rowTypeInfo.getFieldNames(), element))
-        );
+                httpHosts, createSinkFunction(rowTypeInfo));
 
-        // configuration for the bulk requests; this instructs the sink to emit after every element, otherwise they would be buffered
-        esSinkBuilder.setBulkFlushMaxActions(1);
+        configureBulkFlush(esSinkBuilder);
 
         // finally, build and add the sink to the job's pipeline
         if (config.hasPath(PARALLELISM)) {
@@ -123,9 +159,7 @@ public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
 
         RowTypeInfo rowTypeInfo = (RowTypeInfo) dataSet.getType();
         indexName = StringTemplate.substitute(config.getString(INDEX), config.getString(INDEX_TIME_FORMAT));
-        DataSink<Row> dataSink = dataSet.output(new ElasticsearchOutputFormat<>(config,
-                (ElasticsearchSinkFunction<Row>) (element, ctx, indexer) ->
-                        indexer.add(createIndexRequest(rowTypeInfo.getFieldNames(), element))));
+        DataSink<Row> dataSink = dataSet.output(new ElasticsearchOutputFormat<>(config, createSinkFunction(rowTypeInfo)));
 
         if (config.hasPath(PARALLELISM)) {
             int parallelism = config.getInt(PARALLELISM);
@@ -134,16 +168,52 @@ public class Elasticsearch6 implements FlinkStreamSink, FlinkBatchSink {
 
     }
 
-    private IndexRequest createIndexRequest(String[] fieldNames, Row element) {
-        int elementLen = element.getArity();
-        Map<String, Object> json = new HashMap<>(elementLen);
-        for (int i = 0; i < elementLen; i++) {
-            json.put(fieldNames[i], element.getField(i));
+    /**
+     * Buffer the rows into bulk requests, which are flushed when one of the limits is reached and on checkpoints.
+     */
+    private void configureBulkFlush(ElasticsearchSink.Builder<Row> esSinkBuilder) {
+        esSinkBuilder.setBulkFlushMaxActions(config.hasPath(BULK_FLUSH_MAX_ACTIONS) ?
+                config.getInt(BULK_FLUSH_MAX_ACTIONS) : DEFAULT_BULK_FLUSH_MAX_ACTIONS);
+        esSinkBuilder.setBulkFlushMaxSizeMb(config.hasPath(BULK_FLUSH_MAX_SIZE_MB) ?
+                config.getInt(BULK_FLUSH_MAX_SIZE_MB) : DEFAULT_BULK_FLUSH_MAX_SIZE_MB);
+        esSinkBuilder.setBulkFlushInterval(config.hasPath(BULK_FLUSH_INTERVAL) ?
+                config.getLong(BULK_FLUSH_INTERVAL) : DEFAULT_BULK_FLUSH_INTERVAL);
+
+        boolean backoff = !config.hasPath(BULK_FLUSH_BACKOFF_ENABLE) || config.getBoolean(BULK_FLUSH_BACKOFF_ENABLE);
+        esSinkBuilder.setBulkFlushBackoff(backoff);
+        if (backoff) {
+            String backoffType = config.hasPath(BULK_FLUSH_BACKOFF_TYPE) ?
+                    config.getString(BULK_FLUSH_BACKOFF_TYPE) : DEFAULT_BULK_FLUSH_BACKOFF_TYPE;
+            esSinkBuilder.setBulkFlushBackoffType(ElasticsearchSinkBase.FlushBackoffType.valueOf(backoffType.toUpperCase()));
+            esSinkBuilder.setBulkFlushBackoffRetries(config.hasPath(BULK_FLUSH_BACKOFF_RETRIES) ?
+                    config.getInt(BULK_FLUSH_BACKOFF_RETRIES) : DEFAULT_BULK_FLUSH_BACKOFF_RETRIES);
+            esSinkBuilder.setBulkFlushBackoffDelay(config.hasPath(BULK_FLUSH_BACKOFF_DELAY) ?
+                    config.getLong(BULK_FLUSH_BACKOFF_DELAY) : DEFAULT_BULK_FLUSH_BACKOFF_DELAY);
+        }
+
+        esSinkBuilder.setFailureHandler(createFailureHandler(config.hasPath(FAILURE_HANDLER) ?
+                config.getString(FAILURE_HANDLER) : DEFAULT_FAILURE_HANDLER));
+    }
+
+    private static ActionRequestFailureHandler createFailureHandler(String name) {
+        switch (name.toLowerCase()) {
+            case "fail":
+                return new NoOpFailureHandler();
+            case "retry_rejected":
+                return new RetryRejectedExecutionFailureHandler();
+            case "drop":
+                return new DropAndCountFailureHandler();
+            default:
+                throw new IllegalArgumentException(String.format("%s only supports fail, retry_rejected and drop, but got %s",
+                        FAILURE_HANDLER, name));
         }
+    }
 
-        return Requests.indexRequest()
-                .index(indexName)
-                .type(config.getString(INDEX_TYPE))
-                .source(json);
+    private ElasticsearchSinkFunction<Row> createSinkFunction(RowTypeInfo rowTypeInfo) {
+        List<String> idFields = config.hasPath(ID_FIELDS) ? config.getStringList(ID_FIELDS) : Collections.emptyList();
+        List<String> routingFields = config.hasPath(ROUTING_FIELDS) ?
+                config.getStringList(ROUTING_FIELDS) : Collections.emptyList();
+        return new ElasticsearchRowSinkFunction(indexName, config.getString(INDEX_TYPE), rowTypeInfo.getFieldNames(),
+                idFields, routingFields, config.getString(ID_DELIMITER), UPSERT_MODE.equals(config.getString(WRITE_MODE)));
     }
 }
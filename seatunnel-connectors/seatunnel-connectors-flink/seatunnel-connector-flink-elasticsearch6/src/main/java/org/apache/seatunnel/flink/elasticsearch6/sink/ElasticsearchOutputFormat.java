@@ -1,12 +1,13 @@
 /*
- * Licensed to the Apache Software Foundation (ASF) under one or more
- * contributor license agreements.  See the NOTICE file distributed with
- * this work for additional information regarding copyright ownership.
- * The ASF licenses this file to You under the Apache License, Version 2.0
- * (the "License"); you may not use this file except in compliance with
- * the License.  You may obtain a copy of the License at
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
  *
- *    http://www.apache.org/licenses/LICENSE-2.0
+ *     http://www.apache.org/licenses/LICENSE-2.0
  *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
@@ -17,28 +18,59 @@
 
 package org.apache.seatunnel.flink.elasticsearch6.sink;
 
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_CONCURRENT_REQUESTS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_DELAY;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_ENABLE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_RETRIES;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_BACKOFF_TYPE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_MAX_ACTIONS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_FLUSH_MAX_SIZE_MB;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.BULK_MAX_FAILED_ITEMS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_CONCURRENT_REQUESTS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_DELAY;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_RETRIES;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_BACKOFF_TYPE;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_MAX_ACTIONS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_FLUSH_MAX_SIZE_MB;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.DEFAULT_BULK_MAX_FAILED_ITEMS;
+import static org.apache.seatunnel.flink.elasticsearch6.config.Config.HOSTS;
+
 import org.apache.seatunnel.shade.com.typesafe.config.Config;
 
 import org.apache.flink.api.common.io.RichOutputFormat;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.streaming.connectors.elasticsearch.ElasticsearchSinkFunction;
 import org.apache.flink.streaming.connectors.elasticsearch.RequestIndexer;
+import org.apache.http.HttpHost;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.client.transport.TransportClient;
-import org.elasticsearch.common.settings.Settings;
-import org.elasticsearch.common.transport.TransportAddress;
-import org.elasticsearch.transport.client.PreBuiltTransportClient;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.InetAddress;
+import java.io.IOException;
 import java.util.List;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the requests of {@link ElasticsearchSinkFunction} through the REST client with a {@link BulkProcessor}, which
+ * sends up to the configured number of concurrent bulk requests and retries the rejected items with backoff. Failed
+ * items are counted in the failedItems metric, the job fails once there are more than the allowed failed items.
+ */
 public class ElasticsearchOutputFormat<T> extends RichOutputFormat<T> {
 
     private static final long serialVersionUID = 2048590860723433896L;
@@ -46,14 +78,20 @@ public class ElasticsearchOutputFormat<T> extends RichOutputFormat<T> {
 
     private final Config config;
 
-    private static final String PREFIX = "es.";
-
     private final ElasticsearchSinkFunction<T> elasticsearchSinkFunction;
 
+    private transient RestHighLevelClient client;
+
     private transient RequestIndexer requestIndexer;
 
     private transient BulkProcessor bulkProcessor;
 
+    private transient AtomicLong failedItems;
+
+    private transient AtomicReference<Throwable> failure;
+
+    private transient long maxFailedItems;
+
     public ElasticsearchOutputFormat(Config userConfig, ElasticsearchSinkFunction<T> elasticsearchSinkFunction) {
         this.config = userConfig;
         this.elasticsearchSinkFunction = elasticsearchSinkFunction;
@@ -61,79 +99,142 @@ public class ElasticsearchOutputFormat<T> extends RichOutputFormat<T> {
 
     @Override
     public void configure(Configuration configuration) {
-        List<String> hosts = config.getStringList(org.apache.seatunnel.flink.elasticsearch6.config.Config.HOSTS);
-        Settings.Builder settings = Settings.builder();
-
-        config.entrySet().forEach(entry -> {
-            String key = entry.getKey();
-            Object value = entry.getValue().unwrapped();
-            if (key.startsWith(PREFIX)) {
-                settings.put(key.substring(PREFIX.length()), value.toString());
-            }
-        });
-
-        TransportClient transportClient = new PreBuiltTransportClient(settings.build());
+    }
 
-        for (String host : hosts) {
-            try {
-                transportClient.addTransportAddresses(new TransportAddress(InetAddress.getByName(host.split(":")[0]), Integer.parseInt(host.split(":")[1])));
-            } catch (Exception e) {
-                LOGGER.warn("Host '{}' parse failed.", host, e);
-            }
+    @Override
+    public void open(int taskNumber, int numTasks) {
+        List<String> hosts = config.getStringList(HOSTS);
+        HttpHost[] httpHosts = new HttpHost[hosts.size()];
+        for (int i = 0; i < hosts.size(); i++) {
+            httpHosts[i] = new HttpHost(hosts.get(i).split(":")[0], Integer.parseInt(hosts.get(i).split(":")[1]), "http");
         }
+        client = new RestHighLevelClient(RestClient.builder(httpHosts));
+
+        failedItems = new AtomicLong();
+        failure = new AtomicReference<>();
+        maxFailedItems = config.hasPath(BULK_MAX_FAILED_ITEMS) ? config.getLong(BULK_MAX_FAILED_ITEMS) : DEFAULT_BULK_MAX_FAILED_ITEMS;
+        getRuntimeContext().getMetricGroup().gauge("failedItems", (Gauge<Long>) failedItems::get);
+
+        bulkProcessor = BulkProcessor.builder(client::bulkAsync, new BulkListener())
+                .setBulkActions(config.hasPath(BULK_FLUSH_MAX_ACTIONS) ?
+                        config.getInt(BULK_FLUSH_MAX_ACTIONS) : DEFAULT_BULK_FLUSH_MAX_ACTIONS)
+                .setBulkSize(new ByteSizeValue(config.hasPath(BULK_FLUSH_MAX_SIZE_MB) ?
+                        config.getInt(BULK_FLUSH_MAX_SIZE_MB) : DEFAULT_BULK_FLUSH_MAX_SIZE_MB, ByteSizeUnit.MB))
+                .setConcurrentRequests(config.hasPath(BULK_CONCURRENT_REQUESTS) ?
+                        config.getInt(BULK_CONCURRENT_REQUESTS) : DEFAULT_BULK_CONCURRENT_REQUESTS)
+                .setBackoffPolicy(createBackoffPolicy())
+                .build();
 
-        BulkProcessor.Builder bulkProcessorBuilder = BulkProcessor.builder(transportClient, new BulkProcessor.Listener() {
-            @Override
-            public void beforeBulk(long executionId, BulkRequest request) {
-            }
-
-            @Override
-            public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
-            }
-
-            @Override
-            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
-            }
-        });
-
-        // This makes flush() blocking
-        //  bulkProcessorBuilder.setConcurrentRequests(0);
-
-        bulkProcessor = bulkProcessorBuilder.build();
         requestIndexer = new RequestIndexer() {
             @Override
             public void add(DeleteRequest... deleteRequests) {
-
+                for (DeleteRequest deleteRequest : deleteRequests) {
+                    bulkProcessor.add(deleteRequest);
+                }
             }
 
             @Override
             public void add(IndexRequest... indexRequests) {
                 for (IndexRequest indexRequest : indexRequests) {
-
                     bulkProcessor.add(indexRequest);
                 }
             }
 
             @Override
             public void add(UpdateRequest... updateRequests) {
-
+                for (UpdateRequest updateRequest : updateRequests) {
+                    bulkProcessor.add(updateRequest);
+                }
             }
         };
     }
 
     @Override
-    public void open(int i, int i1) {
-
+    public void writeRecord(T t) throws IOException {
+        checkFailure();
+        elasticsearchSinkFunction.process(t, getRuntimeContext(), requestIndexer);
     }
 
     @Override
-    public void writeRecord(T t) {
-        elasticsearchSinkFunction.process(t, getRuntimeContext(), requestIndexer);
+    public void close() throws IOException {
+        try {
+            if (bulkProcessor != null) {
+                // flushes the buffered requests and waits for the in-flight ones
+                bulkProcessor.awaitClose(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the bulk requests", e);
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+        }
+        checkFailure();
+        if (failedItems.get() > 0) {
+            LOGGER.warn("{} items failed to be written to Elasticsearch", failedItems.get());
+        }
     }
 
-    @Override
-    public void close() {
-        this.bulkProcessor.flush();
+    private BackoffPolicy createBackoffPolicy() {
+        if (config.hasPath(BULK_FLUSH_BACKOFF_ENABLE) && !config.getBoolean(BULK_FLUSH_BACKOFF_ENABLE)) {
+            return BackoffPolicy.noBackoff();
+        }
+        String backoffType = config.hasPath(BULK_FLUSH_BACKOFF_TYPE) ?
+                config.getString(BULK_FLUSH_BACKOFF_TYPE) : DEFAULT_BULK_FLUSH_BACKOFF_TYPE;
+        TimeValue delay = TimeValue.timeValueMillis(config.hasPath(BULK_FLUSH_BACKOFF_DELAY) ?
+                config.getLong(BULK_FLUSH_BACKOFF_DELAY) : DEFAULT_BULK_FLUSH_BACKOFF_DELAY);
+        int retries = config.hasPath(BULK_FLUSH_BACKOFF_RETRIES) ?
+                config.getInt(BULK_FLUSH_BACKOFF_RETRIES) : DEFAULT_BULK_FLUSH_BACKOFF_RETRIES;
+        return "CONSTANT".equalsIgnoreCase(backoffType) ?
+                BackoffPolicy.constantBackoff(delay, retries) : BackoffPolicy.exponentialBackoff(delay, retries);
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IOException(String.format("%d items failed to be written to Elasticsearch, more than %s = %d",
+                    failedItems.get(), BULK_MAX_FAILED_ITEMS, maxFailedItems), cause);
+        }
     }
 
+    private void onFailedItems(long count, Throwable cause) {
+        if (failedItems.addAndGet(count) > maxFailedItems) {
+            failure.compareAndSet(null, cause);
+        }
+    }
+
+    private class BulkListener implements BulkProcessor.Listener {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            if (!response.hasFailures()) {
+                return;
+            }
+            long count = 0;
+            Throwable cause = null;
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    count++;
+                    if (cause == null) {
+                        cause = item.getFailure().getCause();
+                        DocWriteRequest<?> itemRequest = request.requests().get(item.getItemId());
+                        LOGGER.error("Failed Elasticsearch item request {}: {}", itemRequest, item.getFailureMessage());
+                    }
+                }
+            }
+            LOGGER.error("Bulk request {} has {} failed items of {}", executionId, count, request.numberOfActions());
+            onFailedItems(count, cause);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable cause) {
+            LOGGER.error("Failed Elasticsearch bulk request {} of {} items", executionId, request.numberOfActions(), cause);
+            onFailedItems(request.numberOfActions(), cause);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.elasticsearch6.sink;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.streaming.connectors.elasticsearch.ElasticsearchSinkFunction;
+import org.apache.flink.streaming.connectors.elasticsearch.RequestIndexer;
+import org.apache.flink.types.Row;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serializes each row straight to the JSON source of its request with the field names resolved once. The document id
+ * and routing are the values of the configured fields, joined by the delimiter, so that a replayed row overwrites its
+ * document instead of duplicating it.
+ */
+public class ElasticsearchRowSinkFunction implements ElasticsearchSinkFunction<Row> {
+
+    private static final long serialVersionUID = 6268531802563379075L;
+
+    private final String index;
+    private final String type;
+    private final String[] fieldNames;
+    private final int[] idFields;
+    private final int[] routingFields;
+    private final String delimiter;
+    private final boolean upsert;
+
+    /**
+     * @param idFields      fields of the document id, empty to let Elasticsearch generate it. They must not be null.
+     * @param routingFields fields of the routing, empty for the default routing. They must not be null.
+     * @param upsert        update the document or insert it when missing, instead of indexing it.
+     */
+    public ElasticsearchRowSinkFunction(String index, String type, String[] fieldNames, List<String> idFields,
+                                        List<String> routingFields, String delimiter, boolean upsert) {
+        if (upsert && idFields.isEmpty()) {
+            throw new IllegalArgumentException("upsert requires the id fields of the documents");
+        }
+        this.index = index;
+        this.type = type;
+        this.fieldNames = fieldNames;
+        this.idFields = indexesOf(fieldNames, idFields);
+        this.routingFields = indexesOf(fieldNames, routingFields);
+        this.delimiter = delimiter;
+        this.upsert = upsert;
+    }
+
+    @Override
+    public void process(Row element, RuntimeContext ctx, RequestIndexer indexer) {
+        XContentBuilder source = toSource(element);
+        String id = join(element, idFields);
+        String routing = join(element, routingFields);
+        if (upsert) {
+            indexer.add(new UpdateRequest(index, type, id).doc(source).docAsUpsert(true).routing(routing));
+        } else {
+            indexer.add(new IndexRequest(index, type).id(id).routing(routing).source(source));
+        }
+    }
+
+    private XContentBuilder toSource(Row element) {
+        try {
+            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+            for (int i = 0; i < fieldNames.length; i++) {
+                builder.field(fieldNames[i], element.getField(i));
+            }
+            return builder.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize row " + element, e);
+        }
+    }
+
+    private String join(Row element, int[] fields) {
+        if (fields.length == 0) {
+            return null;
+        }
+        if (fields.length == 1) {
+            return String.valueOf(fieldOf(element, fields[0]));
+        }
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                value.append(delimiter);
+            }
+            value.append(fieldOf(element, fields[i]));
+        }
+        return value.toString();
+    }
+
+    /**
+     * A null key field would become the string "null" and collapse unrelated rows into one document, fail instead.
+     */
+    private Object fieldOf(Row element, int field) {
+        Object value = element.getField(field);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("id or routing field %s is null in row %s", fieldNames[field], element));
+        }
+        return value;
+    }
+
+    private static int[] indexesOf(String[] fieldNames, List<String> fields) {
+        List<String> names = Arrays.asList(fieldNames);
+        return fields.stream().mapToInt(field -> {
+            int index = names.indexOf(field);
+            if (index < 0) {
+                throw new IllegalArgumentException(String.format("field %s not found in %s", field, names));
+            }
+            return index;
+        }).toArray();
+    }
+}
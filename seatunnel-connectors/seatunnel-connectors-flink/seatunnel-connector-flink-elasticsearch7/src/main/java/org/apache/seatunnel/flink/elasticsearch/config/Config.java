@@ -18,7 +18,7 @@
 package org.apache.seatunnel.flink.elasticsearch.config;
 
 /**
- * ElasticSearch sink configuration options
+ * ElasticSearch source and sink configuration options
  */
 public final class Config {
 
@@ -51,11 +51,181 @@ public final class Config {
      */
     public static final String HOSTS = "hosts";
 
+    /**
+     * Maximum number of actions to buffer for each bulk request
+     */
+    public static final String BULK_FLUSH_MAX_ACTIONS = "bulk_flush_max_actions";
+
+    /**
+     * Maximum size of data (in megabytes) to buffer for each bulk request
+     */
+    public static final String BULK_FLUSH_MAX_SIZE_MB = "bulk_flush_max_size_mb";
+
+    /**
+     * Interval (in milliseconds) at which to flush regardless of the buffered actions
+     */
+    public static final String BULK_FLUSH_INTERVAL = "bulk_flush_interval";
+
+    /**
+     * Whether to retry a bulk request failed by a temporary error with backoff
+     */
+    public static final String BULK_FLUSH_BACKOFF_ENABLE = "bulk_flush_backoff_enable";
+
+    /**
+     * Backoff type of bulk request retries, CONSTANT or EXPONENTIAL
+     */
+    public static final String BULK_FLUSH_BACKOFF_TYPE = "bulk_flush_backoff_type";
+
+    /**
+     * Maximum number of retries of a bulk request
+     */
+    public static final String BULK_FLUSH_BACKOFF_RETRIES = "bulk_flush_backoff_retries";
+
+    /**
+     * Delay (in milliseconds) between retries, the initial delay for exponential backoff
+     */
+    public static final String BULK_FLUSH_BACKOFF_DELAY = "bulk_flush_backoff_delay";
+
+    /**
+     * Handler of the failed requests: fail, retry_rejected or drop
+     */
+    public static final String FAILURE_HANDLER = "failure_handler";
+
+    /**
+     * Maximum number of concurrent bulk requests of batch sink
+     */
+    public static final String BULK_CONCURRENT_REQUESTS = "bulk_concurrent_requests";
+
+    /**
+     * Maximum number of failed items of batch sink before the job fails
+     */
+    public static final String BULK_MAX_FAILED_ITEMS = "bulk_max_failed_items";
+
+    /**
+     * Fields whose values make the document id, the document id is generated by ElasticSearch if absent
+     */
+    public static final String ID_FIELDS = "id_fields";
+
+    /**
+     * Delimiter between the values of a composite document id or routing
+     */
+    public static final String ID_DELIMITER = "id_delimiter";
+
+    /**
+     * Fields whose values make the routing of documents
+     */
+    public static final String ROUTING_FIELDS = "routing_fields";
+
+    /**
+     * Write mode of documents: index or upsert
+     */
+    public static final String WRITE_MODE = "write_mode";
+
+    /**
+     * Query DSL of the documents to read
+     */
+    public static final String QUERY = "query";
+
+    /**
+     * Fields to read, the top level fields of the index mapping if absent
+     */
+    public static final String FIELDS = "fields";
+
+    /**
+     * Number of documents of each scroll request
+     */
+    public static final String SCROLL_SIZE = "scroll_size";
+
+    /**
+     * How long a scroll is kept alive between scroll requests
+     */
+    public static final String SCROLL_TIME = "scroll_time";
+
+    /**
+     * How to split the index for parallel reads: shard or slice
+     */
+    public static final String SPLIT_STRATEGY = "split_strategy";
+
+    /**
+     * Number of slices of the slice split strategy
+     */
+    public static final String SLICES = "slices";
+
     /**
      * Default index name
      */
     public static final String DEFAULT_INDEX = "seatunnel";
 
+    /**
+     * Default maximum number of actions of each bulk request
+     */
+    public static final int DEFAULT_BULK_FLUSH_MAX_ACTIONS = 1000;
+
+    /**
+     * Default maximum size (in megabytes) of each bulk request
+     */
+    public static final int DEFAULT_BULK_FLUSH_MAX_SIZE_MB = 5;
+
+    /**
+     * Default bulk flush interval (in milliseconds)
+     */
+    public static final long DEFAULT_BULK_FLUSH_INTERVAL = 1000L;
+
+    /**
+     * Default backoff type of bulk request retries
+     */
+    public static final String DEFAULT_BULK_FLUSH_BACKOFF_TYPE = "EXPONENTIAL";
+
+    /**
+     * Default maximum number of retries of a bulk request
+     */
+    public static final int DEFAULT_BULK_FLUSH_BACKOFF_RETRIES = 3;
+
+    /**
+     * Default initial delay (in milliseconds) between retries
+     */
+    public static final long DEFAULT_BULK_FLUSH_BACKOFF_DELAY = 100L;
+
+    /**
+     * Default handler of the failed requests
+     */
+    public static final String DEFAULT_FAILURE_HANDLER = "retry_rejected";
+
+    /**
+     * Default maximum number of concurrent bulk requests
+     */
+    public static final int DEFAULT_BULK_CONCURRENT_REQUESTS = 2;
+
+    /**
+     * Default maximum number of failed items
+     */
+    public static final long DEFAULT_BULK_MAX_FAILED_ITEMS = 0L;
+
+    /**
+     * Default delimiter of composite document id and routing
+     */
+    public static final String DEFAULT_ID_DELIMITER = "_";
+
+    /**
+     * Default write mode of documents
+     */
+    public static final String DEFAULT_WRITE_MODE = "index";
+
+    /**
+     * Default number of documents of each scroll request
+     */
+    public static final int DEFAULT_SCROLL_SIZE = 1000;
+
+    /**
+     * Default keep alive of a scroll
+     */
+    public static final String DEFAULT_SCROLL_TIME = "1m";
+
+    /**
+     * Default split strategy of source
+     */
+    public static final String DEFAULT_SPLIT_STRATEGY = "shard";
+
     /**
      * Default index time format
      */
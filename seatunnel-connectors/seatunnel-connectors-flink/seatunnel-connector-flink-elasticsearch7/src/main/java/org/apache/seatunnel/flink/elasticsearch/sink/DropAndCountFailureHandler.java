@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.elasticsearch.sink;
+
+import org.apache.flink.streaming.connectors.elasticsearch.ActionRequestFailureHandler;
+import org.apache.flink.streaming.connectors.elasticsearch.RequestIndexer;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.DocWriteRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops the failed requests instead of failing the sink. The index, id and status of a dropped request are logged at
+ * most once per {@link #LOG_INTERVAL_MILLIS} together with the number of requests dropped so far by this subtask, so a
+ * rejected bulk does not flood the log.
+ */
+public class DropAndCountFailureHandler implements ActionRequestFailureHandler {
+
+    private static final long serialVersionUID = 5163204930421627398L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DropAndCountFailureHandler.class);
+    private static final long LOG_INTERVAL_MILLIS = 10_000L;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lastLogMillis = new AtomicLong();
+
+    @Override
+    public void onFailure(ActionRequest action, Throwable failure, int restStatusCode, RequestIndexer indexer) {
+        long total = dropped.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long last = lastLogMillis.get();
+        if (now - last < LOG_INTERVAL_MILLIS || !lastLogMillis.compareAndSet(last, now)) {
+            return;
+        }
+        String index = null;
+        String id = null;
+        if (action instanceof DocWriteRequest) {
+            DocWriteRequest<?> request = (DocWriteRequest<?>) action;
+            index = request.index();
+            id = request.id();
+        }
+        LOGGER.warn("Dropped failed request of index {} and id {} with status {}: {}, {} requests dropped",
+                index, id, restStatusCode, failure, total);
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.elasticsearch.source;
+
+import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
+import org.apache.flink.api.common.io.RichInputFormat;
+import org.apache.flink.api.common.io.statistics.BaseStatistics;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.io.InputSplitAssigner;
+import org.apache.flink.types.Row;
+import org.apache.http.HttpHost;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an index with one scroll per split, either a shard of each concrete index or a slice of a sliced scroll. Only
+ * the current page of hits is kept in memory, so the memory of a reader is bounded by the scroll size.
+ */
+public class ElasticsearchInputFormat extends RichInputFormat<Row, ElasticsearchInputSplit>
+        implements ResultTypeQueryable<Row> {
+
+    private static final long serialVersionUID = 7214306938463512254L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElasticsearchInputFormat.class);
+    private static final String SHARD_STRATEGY = "shard";
+    private static final String NUMBER_OF_SHARDS = "index.number_of_shards";
+
+    private final List<String> hosts;
+    private final String index;
+    private final String query;
+    private final RowTypeInfo rowTypeInfo;
+    private final int scrollSize;
+    private final String scrollTime;
+    private final String splitStrategy;
+    private final int slices;
+
+    private transient RestHighLevelClient client;
+    private transient String scrollId;
+    private transient SearchHit[] hits;
+    private transient int position;
+
+    /**
+     * @param query  the query DSL of the documents to read, null for all the documents.
+     * @param slices the number of slices of the slice strategy, 0 for the parallelism.
+     */
+    public ElasticsearchInputFormat(List<String> hosts, String index, String query, RowTypeInfo rowTypeInfo,
+                                    int scrollSize, String scrollTime, String splitStrategy, int slices) {
+        this.hosts = hosts;
+        this.index = index;
+        this.query = query;
+        this.rowTypeInfo = rowTypeInfo;
+        this.scrollSize = scrollSize;
+        this.scrollTime = scrollTime;
+        this.splitStrategy = splitStrategy;
+        this.slices = slices;
+    }
+
+    public static RestHighLevelClient createClient(List<String> hosts) {
+        HttpHost[] httpHosts = new HttpHost[hosts.size()];
+        for (int i = 0; i < hosts.size(); i++) {
+            httpHosts[i] = new HttpHost(hosts.get(i).split(":")[0], Integer.parseInt(hosts.get(i).split(":")[1]), "http");
+        }
+        return new RestHighLevelClient(RestClient.builder(httpHosts));
+    }
+
+    @Override
+    public RowTypeInfo getProducedType() {
+        return rowTypeInfo;
+    }
+
+    @Override
+    public void configure(Configuration parameters) {
+    }
+
+    @Override
+    public BaseStatistics getStatistics(BaseStatistics cachedStatistics) {
+        return cachedStatistics;
+    }
+
+    @Override
+    public ElasticsearchInputSplit[] createInputSplits(int minNumSplits) throws IOException {
+        List<ElasticsearchInputSplit> splits = new ArrayList<>();
+        if (SHARD_STRATEGY.equals(splitStrategy)) {
+            try (RestHighLevelClient splitClient = createClient(hosts)) {
+                GetSettingsResponse response = splitClient.indices().getSettings(
+                        new GetSettingsRequest().indices(index).names(NUMBER_OF_SHARDS), RequestOptions.DEFAULT);
+                Iterator<String> indices = response.getIndexToSettings().keysIt();
+                while (indices.hasNext()) {
+                    String concreteIndex = indices.next();
+                    int shards = Integer.parseInt(response.getSetting(concreteIndex, NUMBER_OF_SHARDS));
+                    for (int shard = 0; shard < shards; shard++) {
+                        splits.add(ElasticsearchInputSplit.ofShard(splits.size(), concreteIndex, shard));
+                    }
+                }
+            }
+        } else {
+            int maxSlices = slices > 0 ? slices : Math.max(1, minNumSplits);
+            for (int slice = 0; slice < maxSlices; slice++) {
+                splits.add(ElasticsearchInputSplit.ofSlice(slice, index, maxSlices == 1 ? -1 : slice, maxSlices));
+            }
+        }
+        LOGGER.info("Split {} into {} splits by {}", index, splits.size(), splitStrategy);
+        return splits.toArray(new ElasticsearchInputSplit[0]);
+    }
+
+    @Override
+    public InputSplitAssigner getInputSplitAssigner(ElasticsearchInputSplit[] inputSplits) {
+        return new DefaultInputSplitAssigner(inputSplits);
+    }
+
+    @Override
+    public void openInputFormat() {
+        client = createClient(hosts);
+    }
+
+    @Override
+    public void closeInputFormat() throws IOException {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    @Override
+    public void open(ElasticsearchInputSplit split) throws IOException {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .size(scrollSize)
+                .query(query == null ? QueryBuilders.matchAllQuery() : QueryBuilders.wrapperQuery(query))
+                .fetchSource(rowTypeInfo.getFieldNames(), null)
+                // the cheapest order to scroll
+                .sort("_doc");
+        if (split.getSlice() >= 0) {
+            source.slice(new SliceBuilder(split.getSlice(), split.getMaxSlices()));
+        }
+        SearchRequest request = new SearchRequest(split.getIndex())
+                .source(source)
+                .scroll(TimeValue.parseTimeValue(scrollTime, "scroll_time"));
+        if (split.getShard() >= 0) {
+            request.preference("_shards:" + split.getShard());
+        }
+        onResponse(client.search(request, RequestOptions.DEFAULT));
+    }
+
+    @Override
+    public boolean reachedEnd() throws IOException {
+        if (position < hits.length) {
+            return false;
+        }
+        if (hits.length == 0) {
+            return true;
+        }
+        SearchScrollRequest request = new SearchScrollRequest(scrollId)
+                .scroll(TimeValue.parseTimeValue(scrollTime, "scroll_time"));
+        onResponse(client.scroll(request, RequestOptions.DEFAULT));
+        return hits.length == 0;
+    }
+
+    @Override
+    public Row nextRecord(Row reuse) {
+        Map<String, Object> document = hits[position++].getSourceAsMap();
+        String[] fieldNames = rowTypeInfo.getFieldNames();
+        for (int i = 0; i < fieldNames.length; i++) {
+            reuse.setField(i, convert(getField(document, fieldNames[i]), rowTypeInfo.getTypeAt(i)));
+        }
+        return reuse;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (scrollId != null && client != null) {
+            ClearScrollRequest request = new ClearScrollRequest();
+            request.addScrollId(scrollId);
+            try {
+                client.clearScroll(request, RequestOptions.DEFAULT);
+            } catch (IOException e) {
+                // the scroll expires by itself
+                LOGGER.warn("Failed to clear scroll {}", scrollId, e);
+            }
+        }
+        scrollId = null;
+        hits = null;
+    }
+
+    private void onResponse(SearchResponse response) {
+        scrollId = response.getScrollId();
+        hits = response.getHits().getHits();
+        position = 0;
+    }
+
+    /**
+     * Get the value of a field, a dotted name is the path of a field in objects.
+     */
+    @SuppressWarnings("unchecked")
+    static Object getField(Map<String, Object> document, String name) {
+        if (document.containsKey(name)) {
+            return document.get(name);
+        }
+        int dot = name.indexOf('.');
+        if (dot > 0) {
+            Object parent = document.get(name.substring(0, dot));
+            if (parent instanceof Map) {
+                return getField((Map<String, Object>) parent, name.substring(dot + 1));
+            }
+        }
+        return null;
+    }
+
+    static Object convert(Object value, TypeInformation<?> type) {
+        if (value == null) {
+            return null;
+        }
+        if (BasicTypeInfo.STRING_TYPE_INFO.equals(type)) {
+            if (value instanceof Map || value instanceof Collection) {
+                return toJson(value);
+            }
+            return value.toString();
+        }
+        if (BasicTypeInfo.BOOLEAN_TYPE_INFO.equals(type)) {
+            return value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+        }
+        // numbers may be strings in the source, which are coerced like elasticsearch does
+        Number number = value instanceof Number ? (Number) value : new BigDecimal(value.toString());
+        if (BasicTypeInfo.LONG_TYPE_INFO.equals(type)) {
+            return number.longValue();
+        } else if (BasicTypeInfo.INT_TYPE_INFO.equals(type)) {
+            return number.intValue();
+        } else if (BasicTypeInfo.SHORT_TYPE_INFO.equals(type)) {
+            return number.shortValue();
+        } else if (BasicTypeInfo.BYTE_TYPE_INFO.equals(type)) {
+            return number.byteValue();
+        } else if (BasicTypeInfo.FLOAT_TYPE_INFO.equals(type)) {
+            return number.floatValue();
+        } else {
+            return number.doubleValue();
+        }
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return Strings.toString(XContentFactory.jsonBuilder().value(value));
+        } catch (IOException e) {
+            return value.toString();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.elasticsearch.source;
+
+import org.apache.flink.core.io.InputSplit;
+
+/**
+ * A shard of an index, or a slice of a sliced scroll over the whole index.
+ */
+public class ElasticsearchInputSplit implements InputSplit {
+
+    private static final long serialVersionUID = -4237823474917372186L;
+
+    private final int splitNumber;
+    private final String index;
+    private final int shard;
+    private final int slice;
+    private final int maxSlices;
+
+    private ElasticsearchInputSplit(int splitNumber, String index, int shard, int slice, int maxSlices) {
+        this.splitNumber = splitNumber;
+        this.index = index;
+        this.shard = shard;
+        this.slice = slice;
+        this.maxSlices = maxSlices;
+    }
+
+    public static ElasticsearchInputSplit ofShard(int splitNumber, String index, int shard) {
+        return new ElasticsearchInputSplit(splitNumber, index, shard, -1, 1);
+    }
+
+    public static ElasticsearchInputSplit ofSlice(int splitNumber, String index, int slice, int maxSlices) {
+        return new ElasticsearchInputSplit(splitNumber, index, -1, slice, maxSlices);
+    }
+
+    @Override
+    public int getSplitNumber() {
+        return splitNumber;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the shard to read, -1 to read all the shards.
+     */
+    public int getShard() {
+        return shard;
+    }
+
+    /**
+     * @return the slice to read, -1 without slicing.
+     */
+    public int getSlice() {
+        return slice;
+    }
+
+    public int getMaxSlices() {
+        return maxSlices;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ElasticsearchInputSplit{index=%s, shard=%d, slice=%d/%d}", index, shard, slice, maxSlices);
+    }
+}
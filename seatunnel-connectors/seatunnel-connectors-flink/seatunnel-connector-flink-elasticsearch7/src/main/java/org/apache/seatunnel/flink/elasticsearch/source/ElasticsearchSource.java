@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.elasticsearch.source;
+
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.DEFAULT_SCROLL_SIZE;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.DEFAULT_SCROLL_TIME;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.DEFAULT_SPLIT_STRATEGY;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.FIELDS;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.HOSTS;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.INDEX;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.PARALLELISM;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.QUERY;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.SCROLL_SIZE;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.SCROLL_TIME;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.SLICES;
+import static org.apache.seatunnel.flink.elasticsearch.config.Config.SPLIT_STRATEGY;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.BOOLEAN_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.BYTE_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.DOUBLE_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.FLOAT_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.INT_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.LONG_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.SHORT_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.STRING_TYPE_INFO;
+
+import org.apache.seatunnel.common.config.CheckConfigUtil;
+import org.apache.seatunnel.common.config.CheckResult;
+import org.apache.seatunnel.flink.FlinkEnvironment;
+import org.apache.seatunnel.flink.batch.FlinkBatchSource;
+
+import org.apache.seatunnel.shade.com.typesafe.config.Config;
+import org.apache.seatunnel.shade.com.typesafe.config.ConfigRenderOptions;
+import org.apache.seatunnel.shade.com.typesafe.config.ConfigValueType;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.DataSet;
+import org.apache.flink.api.java.operators.DataSource;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.types.Row;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.client.indices.GetMappingsResponse;
+import org.elasticsearch.cluster.metadata.MappingMetaData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an index in parallel splits, see {@link ElasticsearchInputFormat}. The row type is mapped from the mapping of
+ * the index.
+ */
+public class ElasticsearchSource implements FlinkBatchSource {
+
+    private static final long serialVersionUID = -2978534913484254352L;
+    private static final String SHARD_STRATEGY = "shard";
+    private static final String SLICE_STRATEGY = "slice";
+    private static final String PROPERTIES = "properties";
+
+    private static final Map<String, TypeInformation<?>> TYPE_MAPPING = new HashMap<>();
+
+    static {
+        // https://www.elastic.co/guide/en/elasticsearch/reference/7.5/mapping-types.html
+        TYPE_MAPPING.put("long", LONG_TYPE_INFO);
+        TYPE_MAPPING.put("integer", INT_TYPE_INFO);
+        TYPE_MAPPING.put("short", SHORT_TYPE_INFO);
+        TYPE_MAPPING.put("byte", BYTE_TYPE_INFO);
+        TYPE_MAPPING.put("double", DOUBLE_TYPE_INFO);
+        TYPE_MAPPING.put("scaled_float", DOUBLE_TYPE_INFO);
+        TYPE_MAPPING.put("float", FLOAT_TYPE_INFO);
+        TYPE_MAPPING.put("half_float", FLOAT_TYPE_INFO);
+        TYPE_MAPPING.put("boolean", BOOLEAN_TYPE_INFO);
+    }
+
+    private Config config;
+    private ElasticsearchInputFormat elasticsearchInputFormat;
+
+    @Override
+    public DataSet<Row> getData(FlinkEnvironment env) {
+        DataSource<Row> dataSource = env.getBatchEnvironment().createInput(elasticsearchInputFormat);
+        if (config.hasPath(PARALLELISM)) {
+            int parallelism = config.getInt(PARALLELISM);
+            return dataSource.setParallelism(parallelism);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void setConfig(Config config) {
+        this.config = config;
+    }
+
+    @Override
+    public Config getConfig() {
+        return config;
+    }
+
+    @Override
+    public CheckResult checkConfig() {
+        CheckResult checkResult = CheckConfigUtil.checkAllExists(config, HOSTS, INDEX);
+        if (checkResult.isSuccess() && config.hasPath(SPLIT_STRATEGY)) {
+            String strategy = config.getString(SPLIT_STRATEGY);
+            if (!SHARD_STRATEGY.equals(strategy) && !SLICE_STRATEGY.equals(strategy)) {
+                return CheckResult.error(String.format("%s only supports %s and %s, but got %s",
+                        SPLIT_STRATEGY, SHARD_STRATEGY, SLICE_STRATEGY, strategy));
+            }
+        }
+        return checkResult;
+    }
+
+    @Override
+    public void prepare(FlinkEnvironment env) {
+        List<String> hosts = config.getStringList(HOSTS);
+        String index = config.getString(INDEX);
+        String query = null;
+        if (config.hasPath(QUERY)) {
+            // the query DSL can be written as a HOCON object or as a JSON string
+            query = config.getValue(QUERY).valueType() == ConfigValueType.STRING ? config.getString(QUERY)
+                    : config.getValue(QUERY).render(ConfigRenderOptions.concise());
+        }
+        RowTypeInfo rowTypeInfo;
+        try (RestHighLevelClient client = ElasticsearchInputFormat.createClient(hosts)) {
+            GetMappingsResponse response = client.indices().getMapping(new GetMappingsRequest().indices(index),
+                    RequestOptions.DEFAULT);
+            rowTypeInfo = getRowTypeInfo(response.mappings(), config.hasPath(FIELDS) ? config.getStringList(FIELDS) : null);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to get the mapping of " + index, e);
+        }
+
+        elasticsearchInputFormat = new ElasticsearchInputFormat(hosts, index, query, rowTypeInfo,
+                config.hasPath(SCROLL_SIZE) ? config.getInt(SCROLL_SIZE) : DEFAULT_SCROLL_SIZE,
+                config.hasPath(SCROLL_TIME) ? config.getString(SCROLL_TIME) : DEFAULT_SCROLL_TIME,
+                config.hasPath(SPLIT_STRATEGY) ? config.getString(SPLIT_STRATEGY) : DEFAULT_SPLIT_STRATEGY,
+                config.hasPath(SLICES) ? config.getInt(SLICES) : 0);
+    }
+
+    @Override
+    public String getPluginName() {
+        return "ElasticSearch";
+    }
+
+    /**
+     * Map the fields to the types of the first index that has them, the fields default to the top level fields of the
+     * mappings. Objects, arrays and fields of other types are read as strings.
+     */
+    @SuppressWarnings("unchecked")
+    private static RowTypeInfo getRowTypeInfo(Map<String, MappingMetaData> mappings, List<String> fields) {
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        for (MappingMetaData mapping : mappings.values()) {
+            Object properties = mapping.sourceAsMap().get(PROPERTIES);
+            if (!(properties instanceof Map)) {
+                continue;
+            }
+            if (fields == null) {
+                ((Map<String, Object>) properties).forEach((field, property) ->
+                        fieldTypes.putIfAbsent(field, getType(property)));
+            } else {
+                for (String field : fields) {
+                    Object property = getProperty((Map<String, Object>) properties, field);
+                    if (property != null) {
+                        fieldTypes.putIfAbsent(field, getType(property));
+                    }
+                }
+            }
+        }
+        List<String> names = fields == null ? new ArrayList<>(fieldTypes.keySet()) : fields;
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No field found in the mappings of the index");
+        }
+        TypeInformation<?>[] types = new TypeInformation<?>[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            types[i] = TYPE_MAPPING.getOrDefault(fieldTypes.get(names.get(i)), STRING_TYPE_INFO);
+        }
+        return new RowTypeInfo(types, names.toArray(new String[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object getProperty(Map<String, Object> properties, String field) {
+        if (properties.containsKey(field)) {
+            return properties.get(field);
+        }
+        int dot = field.indexOf('.');
+        if (dot > 0 && properties.get(field.substring(0, dot)) instanceof Map) {
+            Object children = ((Map<String, Object>) properties.get(field.substring(0, dot))).get(PROPERTIES);
+            if (children instanceof Map) {
+                return getProperty((Map<String, Object>) children, field.substring(dot + 1));
+            }
+        }
+        return null;
+    }
+
+    private static String getType(Object property) {
+        return property instanceof Map ? String.valueOf(((Map<?, ?>) property).get("type")) : null;
+    }
+}
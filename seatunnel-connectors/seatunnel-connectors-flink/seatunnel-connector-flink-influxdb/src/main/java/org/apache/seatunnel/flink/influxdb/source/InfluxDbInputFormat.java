@@ -22,11 +22,11 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
 import org.apache.flink.api.common.io.RichInputFormat;
 import org.apache.flink.api.common.io.statistics.BaseStatistics;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.configuration.Configuration;
-import org.apache.flink.core.io.GenericInputSplit;
-import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.core.io.InputSplitAssigner;
 import org.apache.flink.types.Row;
 import org.influxdb.InfluxDB;
@@ -37,24 +37,45 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implements ResultTypeQueryable<Row> {
+/**
+ * Reads each time sub-range of {@link InfluxDbSql} with a chunked query, which streams the points in chunks of the
+ * chunk size instead of a single response. The chunks are handed over from the http client thread through a bounded
+ * queue, so that a slow reader holds back the stream rather than buffering it.
+ */
+public class InfluxDbInputFormat extends RichInputFormat<Row, InfluxDbInputSplit> implements ResultTypeQueryable<Row> {
 
     private static final Logger LOG = LoggerFactory.getLogger(InfluxDbInputFormat.class);
+    private static final int DEFAULT_CHUNK_SIZE = 10000;
+    private static final int MAX_BUFFERED_CHUNKS = 2;
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+    private static final String DONE = "DONE";
+    private static final QueryResult END_OF_CHUNKS = new QueryResult();
 
     private String serverURL;
     private String username;
     private String password;
     private String database;
-    private String query;
+    private InfluxDbSql sql;
     private List<String> fields;
     private RowTypeInfo rowTypeInfo;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
 
     private transient InfluxDB conn;
 
-    private long offset;
-    private boolean hasNext;
+    private transient BlockingQueue<QueryResult> chunks;
+    private transient Iterator<Object[]> points;
+    private transient boolean completed;
+    private transient volatile boolean closed;
+    private transient volatile Throwable failure;
+    private transient volatile InfluxDB.Cancellable cancellable;
 
     public InfluxDbInputFormat() {
     }
@@ -77,8 +98,6 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
                 conn = InfluxDBFactory.connect(serverURL, username, password);
             }
             conn.setDatabase(database);
-            offset = 0;
-            hasNext = true;
         } catch (Exception e) {
             throw new IllegalArgumentException("openInputFormat() failed." + e.getMessage(), e);
         }
@@ -97,45 +116,76 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
     }
 
     @Override
-    public void open(InputSplit inputSplit) {
+    public void open(InfluxDbInputSplit inputSplit) {
+        chunks = new ArrayBlockingQueue<>(MAX_BUFFERED_CHUNKS);
+        points = Collections.emptyIterator();
+        completed = false;
+        closed = false;
+        failure = null;
+        cancellable = null;
+        conn.query(new Query(inputSplit.getQuery(), database), chunkSize,
+            (call, result) -> {
+                cancellable = call;
+                if (closed) {
+                    call.cancel();
+                    return;
+                }
+                offer(result);
+            },
+            () -> offer(END_OF_CHUNKS),
+            throwable -> {
+                failure = throwable;
+                offer(END_OF_CHUNKS);
+            });
     }
 
     @Override
     public void close() {
+        closed = true;
+        if (cancellable != null && !cancellable.isCanceled()) {
+            cancellable.cancel();
+        }
+        if (chunks != null) {
+            chunks.clear();
+        }
     }
 
     @Override
-    public boolean reachedEnd() {
-        return !hasNext;
-    }
-
-    @Override
-    public Row nextRecord(Row row) throws IOException {
-        try {
-            QueryResult result = conn.query(new Query(this.query + " LIMIT 1 OFFSET " + offset));
-            if (result == null) {
-                hasNext = false;
-                return null;
+    public boolean reachedEnd() throws IOException {
+        while (!points.hasNext()) {
+            if (completed) {
+                return true;
             }
-            List<QueryResult.Result> results = result.getResults();
-            if (CollectionUtils.isEmpty(results)) {
-                hasNext = false;
-                return null;
+            QueryResult chunk;
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading data", e);
             }
-            List<QueryResult.Series> series = results.get(0).getSeries();
-            if (CollectionUtils.isEmpty(series)) {
-                hasNext = false;
-                return null;
-            }
-            List<Object> values = series.get(0).getValues().get(0);
-            for (int i = 0; i < fields.size(); i++) {
-                row.setField(i, values.get(i));
+            if (chunk == END_OF_CHUNKS) {
+                completed = true;
+                if (failure != null) {
+                    throw new IOException("Couldn't read data - " + failure.getMessage(), failure);
+                }
+            } else if (chunk.getError() != null) {
+                if (!DONE.equals(chunk.getError())) {
+                    throw new IOException("Couldn't read data - " + chunk.getError());
+                }
+            } else {
+                points = toPoints(chunk).iterator();
             }
-            offset++;
-            return row;
-        } catch (Exception e) {
-            throw new IOException("Couldn't read data - " + e.getMessage(), e);
         }
+        return false;
+    }
+
+    @Override
+    public Row nextRecord(Row row) {
+        Object[] point = points.next();
+        for (int i = 0; i < point.length; i++) {
+            row.setField(i, convert(point[i], rowTypeInfo.getTypeAt(i)));
+        }
+        return row;
     }
 
     @Override
@@ -144,15 +194,87 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
     }
 
     @Override
-    public InputSplit[] createInputSplits(int minNumSplits) {
-        return new GenericInputSplit[]{new GenericInputSplit(0, 1)};
+    public InfluxDbInputSplit[] createInputSplits(int minNumSplits) {
+        List<String> sqls = sql.sqls(minNumSplits);
+        InfluxDbInputSplit[] splits = new InfluxDbInputSplit[sqls.size()];
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = new InfluxDbInputSplit(i, sqls.get(i));
+        }
+        return splits;
     }
 
     @Override
-    public InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
+    public InputSplitAssigner getInputSplitAssigner(InfluxDbInputSplit[] inputSplits) {
         return new DefaultInputSplitAssigner(inputSplits);
     }
 
+    /**
+     * Hand over a chunk to the reader, giving up once the split is closed.
+     */
+    private void offer(QueryResult result) {
+        try {
+            while (!closed && !chunks.offer(result, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                // wait for the reader to take the previous chunks
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the values of the fields of each point, the columns of a series are looked up by the field names.
+     */
+    private List<Object[]> toPoints(QueryResult chunk) throws IOException {
+        List<Object[]> result = new ArrayList<>();
+        if (CollectionUtils.isEmpty(chunk.getResults())) {
+            return result;
+        }
+        for (QueryResult.Result queryResult : chunk.getResults()) {
+            if (queryResult.getError() != null) {
+                throw new IOException("Couldn't read data - " + queryResult.getError());
+            }
+            if (CollectionUtils.isEmpty(queryResult.getSeries())) {
+                continue;
+            }
+            for (QueryResult.Series series : queryResult.getSeries()) {
+                int[] columns = new int[fields.size()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = series.getColumns().indexOf(fields.get(i));
+                }
+                for (List<Object> values : series.getValues()) {
+                    Object[] point = new Object[columns.length];
+                    for (int i = 0; i < columns.length; i++) {
+                        point[i] = columns[i] < 0 ? null : values.get(columns[i]);
+                    }
+                    result.add(point);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The numbers of the json response are all doubles, convert them to the field types.
+     */
+    private static Object convert(Object value, TypeInformation<?> type) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        Number number = (Number) value;
+        if (BasicTypeInfo.INT_TYPE_INFO.equals(type)) {
+            return number.intValue();
+        } else if (BasicTypeInfo.LONG_TYPE_INFO.equals(type)) {
+            return number.longValue();
+        } else if (BasicTypeInfo.FLOAT_TYPE_INFO.equals(type)) {
+            return number.floatValue();
+        } else if (BasicTypeInfo.DOUBLE_TYPE_INFO.equals(type)) {
+            return number.doubleValue();
+        } else if (BasicTypeInfo.STRING_TYPE_INFO.equals(type)) {
+            return number.toString();
+        }
+        return value;
+    }
+
     public static InfluxDbInputFormatBuilder buildInfluxDbInputFormat() {
         return new InfluxDbInputFormatBuilder();
     }
@@ -184,8 +306,8 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
             return this;
         }
 
-        public InfluxDbInputFormatBuilder setQuery(String query) {
-            format.query = query;
+        public InfluxDbInputFormatBuilder setSql(InfluxDbSql sql) {
+            format.sql = sql;
             return this;
         }
 
@@ -194,6 +316,11 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
             return this;
         }
 
+        public InfluxDbInputFormatBuilder setChunkSize(int chunkSize) {
+            format.chunkSize = chunkSize;
+            return this;
+        }
+
         public InfluxDbInputFormatBuilder setRowTypeInfo(RowTypeInfo rowTypeInfo) {
             format.rowTypeInfo = rowTypeInfo;
             return this;
@@ -203,7 +330,7 @@ public class InfluxDbInputFormat extends RichInputFormat<Row, InputSplit> implem
             if (format.serverURL == null) {
                 throw new IllegalArgumentException("No database URL supplied");
             }
-            if (format.query == null) {
+            if (format.sql == null) {
                 throw new IllegalArgumentException("No query supplied");
             }
             if (format.rowTypeInfo == null) {
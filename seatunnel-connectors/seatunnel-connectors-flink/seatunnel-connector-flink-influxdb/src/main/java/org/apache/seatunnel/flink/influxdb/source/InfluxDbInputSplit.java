@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.influxdb.source;
+
+import org.apache.flink.core.io.InputSplit;
+
+/**
+ * The query of a time sub-range of the source.
+ */
+public class InfluxDbInputSplit implements InputSplit {
+
+    private static final long serialVersionUID = 2617395720416842735L;
+
+    private final int splitNumber;
+    private final String query;
+
+    public InfluxDbInputSplit(int splitNumber, String query) {
+        this.splitNumber = splitNumber;
+        this.query = query;
+    }
+
+    @Override
+    public int getSplitNumber() {
+        return splitNumber;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public String toString() {
+        return "InfluxDbInputSplit{splitNumber=" + splitNumber + ", query=" + query + "}";
+    }
+}
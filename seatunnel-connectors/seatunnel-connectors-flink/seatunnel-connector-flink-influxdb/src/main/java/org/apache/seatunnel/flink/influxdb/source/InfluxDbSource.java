@@ -57,6 +57,7 @@ public class InfluxDbSource implements FlinkBatchSource {
     private static final String START_TIMESTAMP = "start_date";
     private static final String END_TIMESTAMP = "end_date";
     private static final String PARALLELISM = "parallelism";
+    private static final String CHUNK_SIZE = "chunk_size";
 
     private HashMap<String, TypeInformation> informationMapping = new HashMap<>();
 
@@ -115,17 +116,20 @@ public class InfluxDbSource implements FlinkBatchSource {
         String startTimestamp = config.hasPath(START_TIMESTAMP) ? config.getString(START_TIMESTAMP) : null;
         String endTimestamp = config.hasPath(END_TIMESTAMP) ? config.getString(END_TIMESTAMP) : null;
 
-        String sql = new InfluxDbSql(measurement, fields, startTimestamp, endTimestamp).sql();
+        InfluxDbSql sql = new InfluxDbSql(measurement, fields, startTimestamp, endTimestamp);
 
-        this.influxDbInputFormat = InfluxDbInputFormat.buildInfluxDbInputFormat()
+        InfluxDbInputFormat.InfluxDbInputFormatBuilder builder = InfluxDbInputFormat.buildInfluxDbInputFormat()
                 .setServerURL(serverURL)
                 .setUsername(username)
                 .setPassword(password)
                 .setDatabase(database)
-                .setQuery(sql)
+                .setSql(sql)
                 .setFields(fields)
-                .setRowTypeInfo(getRowTypeInfo(fields, fieldTypes))
-                .finish();
+                .setRowTypeInfo(getRowTypeInfo(fields, fieldTypes));
+        if (config.hasPath(CHUNK_SIZE)) {
+            builder.setChunkSize(config.getInt(CHUNK_SIZE));
+        }
+        this.influxDbInputFormat = builder.finish();
     }
 
     @Override
@@ -18,10 +18,41 @@
 
 package org.apache.seatunnel.flink.influxdb.source;
 
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-public class InfluxDbSql {
+public class InfluxDbSql implements Serializable {
+
+    private static final long serialVersionUID = -5841250657016398127L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int NANO_DIGITS = 9;
+
+    /**
+     * The date time literals of InfluxQL besides RFC3339, in UTC.
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd")
+            .optionalStart()
+            .appendLiteral(' ')
+            .appendPattern("HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, NANO_DIGITS, true)
+            .optionalEnd()
+            .optionalEnd()
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter();
 
     private static final String QUERY_TEMPLATE = "SELECT %s FROM %s WHERE 1=1";
 
@@ -102,4 +133,49 @@ public class InfluxDbSql {
         }
         return sql;
     }
+
+    /**
+     * Split the time range into sub-ranges of about the same length, one query for each of them.
+     *
+     * @return the queries of the sub-ranges, or the query of the whole range if it is not bounded.
+     */
+    public List<String> sqls(int splits) {
+        Long start = toEpochNanos(startDate);
+        Long end = toEpochNanos(endDate);
+        if (splits <= 1 || start == null || end == null || end - start < splits) {
+            return Collections.singletonList(sql());
+        }
+        String sql = String.format(QUERY_TEMPLATE, String.join(",", getFields()), getMeasurement());
+        long step = (end - start) / splits;
+        long remainder = (end - start) % splits;
+        List<String> sqls = new ArrayList<>(splits);
+        long lower = start;
+        for (int i = 0; i < splits; i++) {
+            // the first remainder sub-ranges are one nanosecond longer
+            long upper = i == splits - 1 ? end : lower + step + (i < remainder ? 1 : 0);
+            sqls.add(sql + " AND time >= " + lower + " AND time < " + upper);
+            lower = upper;
+        }
+        return sqls;
+    }
+
+    /**
+     * @return the nanoseconds since epoch of the date, null if absent or not parsable.
+     */
+    static Long toEpochNanos(String date) {
+        if (date == null) {
+            return null;
+        }
+        Instant instant;
+        try {
+            instant = Instant.parse(date);
+        } catch (DateTimeParseException e) {
+            try {
+                instant = LocalDateTime.parse(date, DATE_TIME_FORMATTER).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
 }
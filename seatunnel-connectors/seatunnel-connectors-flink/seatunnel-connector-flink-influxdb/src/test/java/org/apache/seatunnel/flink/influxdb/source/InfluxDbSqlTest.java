@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.influxdb.source;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class InfluxDbSqlTest {
+
+    private static final List<String> FIELDS = Arrays.asList("time", "value");
+    private static final String QUERY = "SELECT time,value FROM cpu WHERE 1=1";
+    private static final String START = "2022-01-01T00:00:00Z";
+    private static final long START_NANOS = 1640995200_000000000L;
+    private static final long SECOND_NANOS = 1_000_000_000L;
+    /**
+     * Ten nanoseconds after the start.
+     */
+    private static final String END = "2022-01-01T00:00:00.000000010Z";
+    private static final long END_NANOS = START_NANOS + 10;
+    private static final int SPLITS = 3;
+    /**
+     * 10 / 3 is 3 with a remainder of 1, so only the first sub-range is one nanosecond longer.
+     */
+    private static final long FIRST_UPPER_NANOS = START_NANOS + 4;
+    private static final long SECOND_UPPER_NANOS = FIRST_UPPER_NANOS + 3;
+
+    @Test
+    public void testSqlsDistributeRemainder() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, START, END);
+        Assert.assertEquals(Arrays.asList(
+                QUERY + " AND time >= " + START_NANOS + " AND time < " + FIRST_UPPER_NANOS,
+                QUERY + " AND time >= " + FIRST_UPPER_NANOS + " AND time < " + SECOND_UPPER_NANOS,
+                QUERY + " AND time >= " + SECOND_UPPER_NANOS + " AND time < " + END_NANOS),
+                sql.sqls(SPLITS));
+    }
+
+    @Test
+    public void testSqlsOfInfluxQlDates() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, "2022-01-01", "2022-01-01 00:00:02");
+        long middle = START_NANOS + SECOND_NANOS;
+        Assert.assertEquals(Arrays.asList(
+                QUERY + " AND time >= " + START_NANOS + " AND time < " + middle,
+                QUERY + " AND time >= " + middle + " AND time < " + (middle + SECOND_NANOS)),
+                sql.sqls(2));
+    }
+
+    @Test
+    public void testSqlsOfOneSplit() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, START, END);
+        Assert.assertEquals(Collections.singletonList(sql.sql()), sql.sqls(1));
+    }
+
+    @Test
+    public void testSqlsOfUnparsableDate() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, "now() - 1h", END);
+        Assert.assertEquals(Collections.singletonList(QUERY + " AND time >= 'now() - 1h' AND time < '" + END + "'"),
+                sql.sqls(SPLITS));
+    }
+
+    @Test
+    public void testSqlsOfUnboundedRange() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, START, null);
+        Assert.assertEquals(Collections.singletonList(QUERY + " AND time >= '" + START + "'"), sql.sqls(SPLITS));
+        sql = new InfluxDbSql("cpu", FIELDS);
+        Assert.assertEquals(Collections.singletonList(QUERY), sql.sqls(SPLITS));
+    }
+
+    @Test
+    public void testSqlsOfRangeShorterThanSplits() {
+        InfluxDbSql sql = new InfluxDbSql("cpu", FIELDS, START, "2022-01-01T00:00:00.000000002Z");
+        Assert.assertEquals(Collections.singletonList(sql.sql()), sql.sqls(SPLITS));
+    }
+
+    @Test
+    public void testToEpochNanos() {
+        Assert.assertNull(InfluxDbSql.toEpochNanos(null));
+        Assert.assertNull(InfluxDbSql.toEpochNanos("yesterday"));
+        Assert.assertEquals(Long.valueOf(START_NANOS), InfluxDbSql.toEpochNanos(START));
+        Assert.assertEquals(Long.valueOf(END_NANOS), InfluxDbSql.toEpochNanos(END));
+        Assert.assertEquals(Long.valueOf(START_NANOS), InfluxDbSql.toEpochNanos("2022-01-01"));
+        Assert.assertEquals(Long.valueOf(START_NANOS + SECOND_NANOS + SECOND_NANOS / 2), InfluxDbSql.toEpochNanos("2022-01-01 00:00:01.5"));
+    }
+}
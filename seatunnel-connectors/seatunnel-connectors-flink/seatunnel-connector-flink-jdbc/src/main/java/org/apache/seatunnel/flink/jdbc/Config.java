@@ -76,6 +76,31 @@ public final class Config {
      */
     public static final String SINK_BATCH_MAX_RETRIES = "batch_max_retries";
 
+    /**
+     * Jdbc native bulk load (COPY / LOAD DATA) for sink
+     */
+    public static final String SINK_BULK_LOAD = "bulk_load";
+
+    /**
+     * Jdbc adaptive batch size for sink
+     */
+    public static final String SINK_BATCH_ADAPTIVE = "batch_adaptive";
+
+    /**
+     * Jdbc min adaptive batch size for sink
+     */
+    public static final String SINK_BATCH_SIZE_MIN = "batch_size_min";
+
+    /**
+     * Jdbc max adaptive batch size for sink
+     */
+    public static final String SINK_BATCH_SIZE_MAX = "batch_size_max";
+
+    /**
+     * Jdbc target latency in milliseconds of a batch for sink
+     */
+    public static final String SINK_BATCH_TARGET_LATENCY = "batch_target_latency";
+
     /**
      * Jdbc partition column name
      */
@@ -91,6 +116,31 @@ public final class Config {
      */
     public static final String PARTITION_LOWER_BOUND = "partition_lower_bound";
 
+    /**
+     * Jdbc partition strategy, range or sample
+     */
+    public static final String PARTITION_STRATEGY = "partition_strategy";
+
+    /**
+     * Jdbc number of keys sampled by the sample partition strategy
+     */
+    public static final String PARTITION_SAMPLE_SIZE = "partition_sample_size";
+
+    /**
+     * Jdbc monotonic tracking column for stream source
+     */
+    public static final String TRACKING_COLUMN = "tracking_column";
+
+    /**
+     * Jdbc exclusive start value of the tracking column for stream source
+     */
+    public static final String TRACKING_START_VALUE = "tracking_start_value";
+
+    /**
+     * Jdbc poll interval in milliseconds for stream source
+     */
+    public static final String POLL_INTERVAL = "poll_interval";
+
     /**
      * Jdbc pre sql for sink
      */
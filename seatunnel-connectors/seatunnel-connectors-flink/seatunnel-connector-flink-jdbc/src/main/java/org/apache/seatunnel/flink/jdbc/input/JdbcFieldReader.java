@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.input;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Read a column of the current row of {@link ResultSet} with the getter of its type, null is returned when the value
+ * is SQL NULL.
+ */
+@FunctionalInterface
+public interface JdbcFieldReader {
+
+    Object read(ResultSet resultSet, int index) throws SQLException;
+
+    /**
+     * Get the reader of the type class of row field.
+     *
+     * @param clazz type class of row field.
+     * @return reader of the type class.
+     */
+    static JdbcFieldReader of(Class<?> clazz) {
+        if (String.class == clazz) {
+            return (resultSet, index) -> {
+                Object value = resultSet.getObject(index);
+                return value == null ? null : String.valueOf(value);
+            };
+        } else if (Boolean.class == clazz) {
+            return (resultSet, index) -> {
+                boolean value = resultSet.getBoolean(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Byte.class == clazz) {
+            return (resultSet, index) -> {
+                byte value = resultSet.getByte(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Short.class == clazz) {
+            return (resultSet, index) -> {
+                short value = resultSet.getShort(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Integer.class == clazz) {
+            return (resultSet, index) -> {
+                int value = resultSet.getInt(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Long.class == clazz) {
+            return (resultSet, index) -> {
+                long value = resultSet.getLong(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Float.class == clazz) {
+            return (resultSet, index) -> {
+                float value = resultSet.getFloat(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Double.class == clazz) {
+            return (resultSet, index) -> {
+                double value = resultSet.getDouble(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        } else if (Character.class == clazz || BigInteger.class == clazz || Instant.class == clazz) {
+            return ResultSet::getString;
+        } else if (Date.class == clazz || java.sql.Date.class == clazz) {
+            return ResultSet::getDate;
+        } else if (Time.class == clazz) {
+            return ResultSet::getTime;
+        } else if (BigDecimal.class == clazz) {
+            return ResultSet::getBigDecimal;
+        } else if (Timestamp.class == clazz) {
+            return ResultSet::getTimestamp;
+        } else if (byte[].class == clazz) {
+            return ResultSet::getBytes;
+        } else {
+            return ResultSet::getObject;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.input;
+
+import org.apache.flink.api.common.functions.RichFlatMapFunction;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.Collector;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Reads the rows of the splits {@code Row(lower, upper)} emitted by {@link JdbcIncrementalSplitSource}, a split
+ * covers the tracking column range (lower, upper].
+ */
+public class JdbcIncrementalSplitReader extends RichFlatMapFunction<Row, Row> {
+
+    private static final long serialVersionUID = 6137287064413498283L;
+
+    private final JdbcConnectionOptions connectionOptions;
+    private final String query;
+    private final String trackingColumn;
+    private final RowTypeInfo rowTypeInfo;
+    private final int fetchSize;
+
+    private transient SimpleJdbcConnectionProvider connectionProvider;
+    private transient PreparedStatement statement;
+    private transient JdbcFieldReader[] fieldReaders;
+
+    public JdbcIncrementalSplitReader(JdbcConnectionOptions connectionOptions, String query, String trackingColumn,
+                                      RowTypeInfo rowTypeInfo, int fetchSize) {
+        this.connectionOptions = connectionOptions;
+        this.query = query;
+        this.trackingColumn = trackingColumn;
+        this.rowTypeInfo = rowTypeInfo;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+        fieldReaders = new JdbcFieldReader[rowTypeInfo.getArity()];
+        for (int pos = 0; pos < fieldReaders.length; pos++) {
+            fieldReaders[pos] = JdbcFieldReader.of(rowTypeInfo.getTypeAt(pos).getTypeClass());
+        }
+    }
+
+    @Override
+    public void flatMap(Row split, Collector<Row> out) throws Exception {
+        if (statement == null) {
+            statement = connectionProvider.getOrEstablishConnection().prepareStatement(
+                    String.format("SELECT * FROM (%s) tt WHERE %s > ? AND %s <= ?", query, trackingColumn, trackingColumn),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+        }
+        statement.setObject(1, split.getField(0));
+        statement.setObject(2, split.getField(1));
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Row row = new Row(fieldReaders.length);
+                for (int pos = 0; pos < fieldReaders.length; pos++) {
+                    row.setField(pos, fieldReaders[pos].read(resultSet, pos + 1));
+                }
+                out.collect(row);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        // closing the connection also closes the statement
+        if (connectionProvider != null) {
+            connectionProvider.closeConnection();
+        }
+    }
+}
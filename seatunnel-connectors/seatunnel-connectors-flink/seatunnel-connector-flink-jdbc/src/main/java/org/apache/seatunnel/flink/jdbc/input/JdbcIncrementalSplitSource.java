@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.input;
+
+import org.apache.seatunnel.flink.jdbc.split.JdbcBoundariesParametersProvider;
+
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.source.RichSourceFunction;
+import org.apache.flink.types.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Polls the maximum of a monotonic tracking column and emits the new range (high-water mark, maximum] as splits of
+ * {@code Row(lower, upper)}, which are read by {@link JdbcIncrementalSplitReader}. It runs with parallelism 1 and keeps
+ * the high-water mark in operator state, the splits emitted before a checkpoint barrier are read before the barrier
+ * reaches the readers, so a restored job continues right after the last checkpointed range.
+ */
+public class JdbcIncrementalSplitSource extends RichSourceFunction<Row> implements CheckpointedFunction {
+
+    private static final long serialVersionUID = -2451880493562468873L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcIncrementalSplitSource.class);
+
+    private final JdbcConnectionOptions connectionOptions;
+    private final String query;
+    private final String trackingColumn;
+    private final boolean temporal;
+    private final long pollInterval;
+    private final int splits;
+
+    private Serializable highWaterMark;
+    private volatile boolean running = true;
+
+    private transient ListState<String> highWaterMarkState;
+    private transient SimpleJdbcConnectionProvider connectionProvider;
+
+    /**
+     * @param startValue exclusive start of the tracking column, null to read from its minimum.
+     */
+    public JdbcIncrementalSplitSource(JdbcConnectionOptions connectionOptions, String query, String trackingColumn,
+                                      boolean temporal, Serializable startValue, long pollInterval, int splits) {
+        this.connectionOptions = connectionOptions;
+        this.query = query;
+        this.trackingColumn = trackingColumn;
+        this.temporal = temporal;
+        this.highWaterMark = startValue;
+        this.pollInterval = pollInterval;
+        this.splits = splits;
+    }
+
+    @Override
+    public void initializeState(FunctionInitializationContext context) throws Exception {
+        highWaterMarkState = context.getOperatorStateStore().getListState(
+                new ListStateDescriptor<>("jdbc-high-water-mark", BasicTypeInfo.STRING_TYPE_INFO));
+        if (context.isRestored()) {
+            for (String value : highWaterMarkState.get()) {
+                highWaterMark = temporal ? Timestamp.valueOf(value) : Long.valueOf(value);
+            }
+            LOGGER.info("Restored high-water mark {} of {}", highWaterMark, trackingColumn);
+        }
+    }
+
+    @Override
+    public void snapshotState(FunctionSnapshotContext context) throws Exception {
+        highWaterMarkState.clear();
+        if (highWaterMark != null) {
+            highWaterMarkState.add(highWaterMark.toString());
+        }
+    }
+
+    @Override
+    public void run(SourceContext<Row> ctx) throws Exception {
+        connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+        while (running) {
+            Connection connection = connectionProvider.getOrEstablishConnection();
+            Serializable[] range = queryRange(connection);
+            if (range != null) {
+                List<? extends Serializable> boundaries = temporal ?
+                        JdbcBoundariesParametersProvider.temporalBoundaries((Timestamp) range[0], (Timestamp) range[1], splits)
+                        : JdbcBoundariesParametersProvider.numericBoundaries((Long) range[0], (Long) range[1], splits);
+                synchronized (ctx.getCheckpointLock()) {
+                    for (int i = 0; i < boundaries.size() - 1; i++) {
+                        ctx.collect(Row.of(boundaries.get(i), boundaries.get(i + 1)));
+                    }
+                    highWaterMark = range[1];
+                }
+            }
+            Thread.sleep(pollInterval);
+        }
+    }
+
+    /**
+     * Get the new range (exclusive lower, inclusive upper) of the tracking column, null when there is no new row.
+     */
+    private Serializable[] queryRange(Connection connection) throws SQLException {
+        String sql = String.format("SELECT MIN(%s),MAX(%s) FROM (%s) tt", trackingColumn, trackingColumn, query);
+        if (highWaterMark != null) {
+            sql += String.format(" WHERE %s > ?", trackingColumn);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (highWaterMark != null) {
+                statement.setObject(1, highWaterMark);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next() || rs.getObject(2) == null) {
+                    return null;
+                }
+                if (temporal) {
+                    // the first poll starts just before the minimum, the lower bound of a split is exclusive
+                    Timestamp lower = highWaterMark != null ? (Timestamp) highWaterMark : new Timestamp(rs.getTimestamp(1).getTime() - 1);
+                    return new Serializable[]{lower, rs.getTimestamp(2)};
+                }
+                long lower = highWaterMark != null ? (Long) highWaterMark : rs.getLong(1) - 1;
+                return new Serializable[]{lower, rs.getLong(2)};
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        running = false;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (connectionProvider != null) {
+            connectionProvider.closeConnection();
+        }
+        super.close();
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.apache.seatunnel.flink.jdbc.input;
 
-import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.calcite.shaded.com.google.common.base.Preconditions;
 import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
@@ -27,18 +26,23 @@ import org.apache.flink.connector.jdbc.split.JdbcParameterValuesProvider;
 import org.apache.flink.types.Row;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Time;
-import java.sql.Timestamp;
-import java.time.Instant;
-import java.util.Date;
-import java.util.Objects;
 
 public class JdbcInputFormat extends org.apache.flink.connector.jdbc.JdbcInputFormat {
 
+    private transient JdbcFieldReader[] fieldReaders;
+
+    @Override
+    public void openInputFormat() {
+        super.openInputFormat();
+        // resolve the reader of each field once, instead of for each value
+        fieldReaders = new JdbcFieldReader[rowTypeInfo.getArity()];
+        for (int pos = 0; pos < fieldReaders.length; pos++) {
+            fieldReaders[pos] = JdbcFieldReader.of(rowTypeInfo.getTypeAt(pos).getTypeClass());
+        }
+    }
+
     @Override
     public Row nextRecord(Row reuse) throws IOException {
         try {
@@ -46,52 +50,7 @@ public class JdbcInputFormat extends org.apache.flink.connector.jdbc.JdbcInputFo
                 return null;
             }
             for (int pos = 0; pos < reuse.getArity(); pos++) {
-
-                Object v = resultSet.getObject(pos + 1);
-                if (Objects.isNull(v)) {
-                    reuse.setField(pos, null);
-                    continue;
-                }
-                TypeInformation<?> type = this.rowTypeInfo.getTypeAt(pos);
-                Class<?> clazz = type.getTypeClass();
-                if (String.class == clazz) {
-                    reuse.setField(pos, String.valueOf(v));
-                } else if (Boolean.class == clazz) {
-                    reuse.setField(pos, resultSet.getBoolean(pos + 1));
-                } else if (Byte.class == clazz) {
-                    reuse.setField(pos, resultSet.getByte(pos + 1));
-                } else if (Short.class == clazz) {
-                    reuse.setField(pos, resultSet.getShort(pos + 1));
-                } else if (Integer.class == clazz) {
-                    reuse.setField(pos, resultSet.getInt(pos + 1));
-                } else if (Long.class == clazz) {
-                    reuse.setField(pos, resultSet.getLong(pos + 1));
-                } else if (Float.class == clazz) {
-                    reuse.setField(pos, resultSet.getFloat(pos + 1));
-                } else if (Double.class == clazz) {
-                    reuse.setField(pos, resultSet.getDouble(pos + 1));
-                } else if (Character.class == clazz) {
-                    reuse.setField(pos, resultSet.getString(pos + 1));
-                } else if (Date.class == clazz) {
-                    reuse.setField(pos, resultSet.getDate(pos + 1));
-                } else if (BigInteger.class == clazz) {
-                    reuse.setField(pos, resultSet.getString(pos + 1));
-                } else if (Instant.class == clazz) {
-                    reuse.setField(pos, resultSet.getString(pos + 1));
-                } else if (java.sql.Date.class == clazz) {
-                    reuse.setField(pos, resultSet.getDate(pos + 1));
-                } else if (Time.class == clazz) {
-                    reuse.setField(pos, resultSet.getTime(pos + 1));
-                } else if (BigDecimal.class == clazz) {
-                    reuse.setField(pos, resultSet.getBigDecimal(pos + 1));
-                } else if (Timestamp.class == clazz) {
-                    reuse.setField(pos, resultSet.getTimestamp(pos + 1));
-                } else if (byte[].class == clazz) {
-                    reuse.setField(pos, resultSet.getBytes(pos + 1));
-                } else {
-                    reuse.setField(pos, resultSet.getObject(pos + 1));
-                }
-
+                reuse.setField(pos, fieldReaders[pos].read(resultSet, pos + 1));
             }
             // update hasNext after we've read the record
             hasNext = resultSet.next();
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import org.apache.flink.api.common.io.RichOutputFormat;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.types.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers rows and writes them in batches like Flink's JdbcBatchingOutputFormat: when the batch is full, at the batch
+ * interval and on checkpoints through {@link JdbcBatchSinkFunction}. The batch size is given by
+ * {@link AdaptiveBatchSize} with the measured latency of each batch, and reported as the currentBatchSize metric.
+ */
+public abstract class AbstractJdbcBatchOutputFormat extends RichOutputFormat<Row> implements Flushable {
+
+    private static final long serialVersionUID = -6376180440582906352L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractJdbcBatchOutputFormat.class);
+    private static final long RETRY_INTERVAL_MILLIS = 1000L;
+
+    private final JdbcConnectionOptions connectionOptions;
+    private final AdaptiveBatchSize batchSize;
+    private final long batchIntervalMs;
+    private final int maxRetries;
+
+    private transient SimpleJdbcConnectionProvider connectionProvider;
+    private transient int batchCount;
+    private transient volatile boolean closed;
+    private transient volatile Exception flushException;
+    private transient ScheduledExecutorService scheduler;
+    private transient ScheduledFuture<?> scheduledFuture;
+
+    protected AbstractJdbcBatchOutputFormat(JdbcConnectionOptions connectionOptions, AdaptiveBatchSize batchSize,
+                                            long batchIntervalMs, int maxRetries) {
+        this.connectionOptions = connectionOptions;
+        this.batchSize = batchSize;
+        this.batchIntervalMs = batchIntervalMs;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Add the row to the pending batch.
+     */
+    protected abstract void addToBatch(Row row) throws IOException;
+
+    /**
+     * Write the pending batch, which is kept until {@link #clearBatch()} so that it can be written again on failure.
+     */
+    protected abstract void executeBatch(Connection connection) throws SQLException, IOException;
+
+    protected abstract void clearBatch();
+
+    @Override
+    public void configure(Configuration parameters) {
+    }
+
+    @Override
+    public void open(int taskNumber, int numTasks) throws IOException {
+        connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+        try {
+            connectionProvider.getOrEstablishConnection();
+        } catch (SQLException | ClassNotFoundException e) {
+            throw new IOException("unable to open JDBC writer", e);
+        }
+        getRuntimeContext().getMetricGroup().gauge("currentBatchSize", (Gauge<Integer>) batchSize::current);
+        if (batchIntervalMs > 0 && batchSize.current() != 1) {
+            scheduler = new ScheduledThreadPoolExecutor(1, new ExecutorThreadFactory("jdbc-batch-output-format"));
+            scheduledFuture = scheduler.scheduleWithFixedDelay(() -> {
+                synchronized (AbstractJdbcBatchOutputFormat.this) {
+                    if (!closed) {
+                        try {
+                            flush();
+                        } catch (Exception e) {
+                            flushException = e;
+                        }
+                    }
+                }
+            }, batchIntervalMs, batchIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void writeRecord(Row row) throws IOException {
+        checkFlushException();
+        addToBatch(row);
+        batchCount++;
+        if (batchCount >= batchSize.current()) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        checkFlushException();
+        if (batchCount == 0) {
+            return;
+        }
+        for (int i = 0; i <= maxRetries; i++) {
+            try {
+                long start = System.currentTimeMillis();
+                executeBatch(connectionProvider.getOrEstablishConnection());
+                batchSize.onSuccess(batchCount, System.currentTimeMillis() - start);
+                clearBatch();
+                batchCount = 0;
+                return;
+            } catch (SQLException | ClassNotFoundException e) {
+                LOGGER.error("JDBC executeBatch error, retry times = {}", i, e);
+                batchSize.onFailure();
+                if (i >= maxRetries) {
+                    throw new IOException(e);
+                }
+                try {
+                    if (!connectionProvider.isConnectionValid()) {
+                        connectionProvider.reestablishConnection();
+                    }
+                    Thread.sleep(RETRY_INTERVAL_MILLIS * (i + 1));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("unable to flush; interrupted while doing another attempt", e);
+                } catch (SQLException | ClassNotFoundException ex) {
+                    throw new IOException("unable to reestablish the JDBC connection", ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduler.shutdown();
+        }
+        try {
+            if (batchCount > 0) {
+                flush();
+            }
+        } finally {
+            if (connectionProvider != null) {
+                connectionProvider.closeConnection();
+            }
+        }
+    }
+
+    private void checkFlushException() {
+        if (flushException != null) {
+            throw new RuntimeException("Writing records to JDBC failed.", flushException);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import java.io.Serializable;
+
+/**
+ * Additive increase, multiplicative decrease of the batch size within [min, max]. A batch executed within the target
+ * latency grows the next one by min rows, a slower or failed batch halves it. A fixed batch size has min == max.
+ */
+public class AdaptiveBatchSize implements Serializable {
+
+    private static final long serialVersionUID = -1905466718016372466L;
+
+    private final int min;
+    private final int max;
+    private final long targetLatencyMs;
+    private volatile int current;
+
+    public AdaptiveBatchSize(int initial, int min, int max, long targetLatencyMs) {
+        if (min <= 0 || min > max) {
+            throw new IllegalArgumentException(String.format("Illegal batch size bounds [%d, %d]", min, max));
+        }
+        this.min = min;
+        this.max = max;
+        this.targetLatencyMs = targetLatencyMs;
+        this.current = Math.max(min, Math.min(max, initial));
+    }
+
+    public static AdaptiveBatchSize fixed(int batchSize) {
+        return new AdaptiveBatchSize(batchSize, batchSize, batchSize, Long.MAX_VALUE);
+    }
+
+    public int current() {
+        return current;
+    }
+
+    /**
+     * Adjust the batch size with the latency of a successful batch of the current size.
+     */
+    public void onSuccess(int rows, long latencyMs) {
+        if (latencyMs > targetLatencyMs) {
+            decrease();
+        } else if (rows >= current) {
+            // only a full batch proves that the current size is fast enough
+            current = (int) Math.min(max, (long) current + min);
+        }
+    }
+
+    public void onFailure() {
+        decrease();
+    }
+
+    private void decrease() {
+        current = Math.max(min, current / 2);
+    }
+}
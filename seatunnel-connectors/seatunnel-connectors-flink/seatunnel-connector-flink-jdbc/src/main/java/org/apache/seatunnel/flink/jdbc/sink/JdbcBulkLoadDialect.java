@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.types.Row;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * The native bulk load of a database, each batch is streamed to it as CSV instead of a batch of insert statements.
+ */
+public enum JdbcBulkLoadDialect {
+
+    /**
+     * COPY ... FROM STDIN through the copy API of the PostgreSQL driver.
+     */
+    POSTGRESQL("jdbc:postgresql:") {
+        @Override
+        public String loadStatement(String table, String columns) {
+            return String.format("COPY %s%s FROM STDIN WITH (FORMAT csv)", table, columns == null ? "" : " (" + columns + ")");
+        }
+
+        @Override
+        void appendField(StringBuilder buffer, Object value, int sqlType) {
+            // an unquoted empty field is null, so every value is quoted
+            if (value != null) {
+                buffer.append('"').append(StringUtils.replace(format(value), "\"", "\"\"")).append('"');
+            }
+        }
+
+        @Override
+        public long load(Connection connection, String statement, InputStream data) throws SQLException, IOException {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(statement, data);
+        }
+    },
+
+    /**
+     * LOAD DATA LOCAL INFILE with the local infile stream of the MySQL driver, which requires allowLoadLocalInfile=true
+     * in the url.
+     */
+    MYSQL("jdbc:mysql:") {
+        @Override
+        public String loadStatement(String table, String columns) {
+            return String.format("LOAD DATA LOCAL INFILE 'stream' INTO TABLE %s CHARACTER SET utf8mb4 "
+                    + "FIELDS TERMINATED BY ',' ENCLOSED BY '\"' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'%s",
+                    table, columns == null ? "" : " (" + columns + ")");
+        }
+
+        @Override
+        void appendField(StringBuilder buffer, Object value, int sqlType) {
+            if (value == null) {
+                buffer.append("\\N");
+                return;
+            }
+            String field = sqlType == Types.BOOLEAN || sqlType == Types.BIT ?
+                    (Boolean.TRUE.equals(value) ? "1" : "0") : format(value);
+            // with ESCAPED BY, line breaks and NUL are escaped like SELECT ... INTO OUTFILE writes them
+            buffer.append('"').append(StringUtils.replaceEach(field, new String[]{"\\", "\"", "\n", "\r", "\0"},
+                    new String[]{"\\\\", "\\\"", "\\n", "\\r", "\\0"})).append('"');
+        }
+
+        @Override
+        public long load(Connection connection, String statement, InputStream data) throws SQLException {
+            try (Statement loadStatement = connection.createStatement()) {
+                loadStatement.unwrap(JdbcStatement.class).setLocalInfileInputStream(data);
+                return loadStatement.executeUpdate(statement);
+            }
+        }
+    };
+
+    private final String urlPrefix;
+
+    JdbcBulkLoadDialect(String urlPrefix) {
+        this.urlPrefix = urlPrefix;
+    }
+
+    /**
+     * Get the bulk load dialect of the jdbc url.
+     *
+     * @return the dialect, null if the database has no supported bulk load.
+     */
+    public static JdbcBulkLoadDialect fromUrl(String url) {
+        for (JdbcBulkLoadDialect dialect : values()) {
+            if (StringUtils.startsWithIgnoreCase(url, dialect.urlPrefix)) {
+                return dialect;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the column can be written as CSV text, binary columns can not.
+     */
+    public static boolean isSupportedType(int sqlType) {
+        return sqlType != Types.BINARY && sqlType != Types.VARBINARY && sqlType != Types.LONGVARBINARY
+                && sqlType != Types.BLOB;
+    }
+
+    /**
+     * Get the statement that loads the CSV stream into the table.
+     *
+     * @param columns the column list of the table, null for all the columns.
+     */
+    public abstract String loadStatement(String table, String columns);
+
+    /**
+     * Load the CSV stream with the statement of {@link #loadStatement(String, String)}.
+     *
+     * @return the number of loaded rows.
+     */
+    public abstract long load(Connection connection, String statement, InputStream data) throws SQLException, IOException;
+
+    abstract void appendField(StringBuilder buffer, Object value, int sqlType);
+
+    /**
+     * Append a row as a CSV line, the fields are in the order of the sql types.
+     */
+    public void appendRow(StringBuilder buffer, Row row, int[] sqlTypes) {
+        for (int i = 0; i < sqlTypes.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendField(buffer, row.getField(i), sqlTypes[i]);
+        }
+        buffer.append('\n');
+    }
+
+    static String format(Object value) {
+        if (value instanceof BigDecimal) {
+            // avoid the scientific notation of BigDecimal.toString
+            return ((BigDecimal) value).toPlainString();
+        }
+        return String.valueOf(value);
+    }
+}
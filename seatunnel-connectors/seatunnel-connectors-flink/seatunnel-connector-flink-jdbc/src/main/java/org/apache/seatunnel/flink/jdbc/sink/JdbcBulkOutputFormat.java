@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.types.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Writes rows with the native bulk load of {@link JdbcBulkLoadDialect}, one load statement per batch.
+ */
+public class JdbcBulkOutputFormat extends AbstractJdbcBatchOutputFormat {
+
+    private static final long serialVersionUID = 3050465473377000785L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBulkOutputFormat.class);
+
+    private final JdbcBulkLoadDialect dialect;
+    private final String loadStatement;
+    private final int[] sqlTypes;
+
+    private transient StringBuilder buffer;
+    private transient int batchRows;
+
+    public JdbcBulkOutputFormat(JdbcConnectionOptions connectionOptions, JdbcBulkLoadDialect dialect, String table,
+                                String columns, int[] sqlTypes, AdaptiveBatchSize batchSize, long batchIntervalMs, int maxRetries) {
+        super(connectionOptions, batchSize, batchIntervalMs, maxRetries);
+        this.dialect = dialect;
+        this.loadStatement = dialect.loadStatement(table, columns);
+        this.sqlTypes = sqlTypes;
+    }
+
+    @Override
+    public void open(int taskNumber, int numTasks) throws IOException {
+        buffer = new StringBuilder();
+        super.open(taskNumber, numTasks);
+    }
+
+    @Override
+    protected void addToBatch(Row row) {
+        dialect.appendRow(buffer, row, sqlTypes);
+        batchRows++;
+    }
+
+    @Override
+    protected void executeBatch(Connection connection) throws SQLException, IOException {
+        // a failed load statement is rolled back as a whole, so the batch can be loaded again
+        byte[] data = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        long rows = dialect.load(connection, loadStatement, new ByteArrayInputStream(data));
+        // LOAD DATA LOCAL skips duplicate keys and converts bad values with warnings instead of failing, the skipped
+        // rows are committed as missing so a retry would only duplicate the loaded ones
+        if (rows != batchRows) {
+            LOGGER.warn("Bulk loaded {} of {} rows, {} rows were skipped as duplicate keys or invalid values",
+                    rows, batchRows, batchRows - rows);
+        } else {
+            LOGGER.debug("Bulk loaded {} rows", rows);
+        }
+    }
+
+    @Override
+    protected void clearBatch() {
+        buffer.setLength(0);
+        batchRows = 0;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.utils.JdbcUtils;
+import org.apache.flink.types.Row;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows with addBatch/executeBatch of the insert statement, one round trip per batch.
+ */
+public class JdbcInsertOutputFormat extends AbstractJdbcBatchOutputFormat {
+
+    private static final long serialVersionUID = -2177016254003861853L;
+
+    private final String query;
+    private final int[] sqlTypes;
+
+    private transient List<Row> rows;
+    private transient PreparedStatement statement;
+    private transient Connection statementConnection;
+
+    public JdbcInsertOutputFormat(JdbcConnectionOptions connectionOptions, String query, int[] sqlTypes,
+                                  AdaptiveBatchSize batchSize, long batchIntervalMs, int maxRetries) {
+        super(connectionOptions, batchSize, batchIntervalMs, maxRetries);
+        this.query = query;
+        this.sqlTypes = sqlTypes;
+    }
+
+    @Override
+    protected void addToBatch(Row row) {
+        if (rows == null) {
+            rows = new ArrayList<>();
+        }
+        // the rows are kept until the batch is written, the input row may be reused
+        rows.add(Row.copy(row));
+    }
+
+    @Override
+    protected void executeBatch(Connection connection) throws SQLException {
+        if (statementConnection != connection) {
+            // prepare again after the connection is reestablished
+            statement = connection.prepareStatement(query);
+            statementConnection = connection;
+        }
+        statement.clearBatch();
+        for (Row row : rows) {
+            JdbcUtils.setRecordToStatement(statement, sqlTypes, row);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    @Override
+    protected void clearBatch() {
+        rows.clear();
+    }
+}
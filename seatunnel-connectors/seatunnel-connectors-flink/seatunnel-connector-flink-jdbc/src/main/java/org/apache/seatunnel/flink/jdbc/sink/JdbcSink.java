@@ -20,9 +20,14 @@ package org.apache.seatunnel.flink.jdbc.sink;
 import static org.apache.seatunnel.flink.jdbc.Config.DRIVER;
 import static org.apache.seatunnel.flink.jdbc.Config.PASSWORD;
 import static org.apache.seatunnel.flink.jdbc.Config.QUERY;
+import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_ADAPTIVE;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_INTERVAL;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_MAX_RETRIES;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_SIZE;
+import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_SIZE_MAX;
+import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_SIZE_MIN;
+import static org.apache.seatunnel.flink.jdbc.Config.SINK_BATCH_TARGET_LATENCY;
+import static org.apache.seatunnel.flink.jdbc.Config.SINK_BULK_LOAD;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_IGNORE_POST_SQL_EXCEPTIONS;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_POST_SQL;
 import static org.apache.seatunnel.flink.jdbc.Config.SINK_PRE_SQL;
@@ -57,6 +62,8 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
 
@@ -65,7 +72,19 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
     private static final int DEFAULT_BATCH_SIZE = 5000;
     private static final int DEFAULT_MAX_RETRY_TIMES = 3;
     private static final int DEFAULT_INTERVAL_MILLIS = 0;
+    private static final long DEFAULT_TARGET_LATENCY_MILLIS = 1000L;
+    private static final int ADAPTIVE_BOUND_FACTOR = 10;
     private static final String PARALLELISM = "parallelism";
+    /**
+     * An insert of placeholders only and nothing after them, the bulk load can not evaluate expressions or apply an
+     * ON DUPLICATE KEY / ON CONFLICT clause.
+     */
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+            "^\\s*INSERT\\s+INTO\\s+([^\\s(]+)\\s*(?:\\(([^)]*)\\))?\\s*VALUES\\s*\\(\\s*(\\?(?:\\s*,\\s*\\?)*)\\s*\\)\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+    private static final int TABLE_GROUP = 1;
+    private static final int COLUMNS_GROUP = 2;
+    private static final int PLACEHOLDERS_GROUP = 3;
 
     private Config config;
     private String driverName;
@@ -79,6 +98,13 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
     private int batchSize = DEFAULT_BATCH_SIZE;
     private long batchIntervalMs = DEFAULT_INTERVAL_MILLIS;
     private int maxRetries = DEFAULT_MAX_RETRY_TIMES;
+    private JdbcBulkLoadDialect bulkLoadDialect;
+    private String bulkLoadTable;
+    private String bulkLoadColumns;
+    private boolean adaptiveBatch = false;
+    private int minBatchSize;
+    private int maxBatchSize;
+    private long targetLatencyMs = DEFAULT_TARGET_LATENCY_MILLIS;
 
     @Override
     public void setConfig(Config config) {
@@ -122,6 +148,17 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
         if (config.hasPath(SINK_IGNORE_POST_SQL_EXCEPTIONS)) {
             ignorePostSqlExceptions = config.getBoolean(SINK_IGNORE_POST_SQL_EXCEPTIONS);
         }
+        if (config.hasPath(SINK_BULK_LOAD) && config.getBoolean(SINK_BULK_LOAD)) {
+            initBulkLoad();
+        }
+        if (config.hasPath(SINK_BATCH_ADAPTIVE)) {
+            adaptiveBatch = config.getBoolean(SINK_BATCH_ADAPTIVE);
+        }
+        minBatchSize = config.hasPath(SINK_BATCH_SIZE_MIN) ? config.getInt(SINK_BATCH_SIZE_MIN) : Math.max(1, batchSize / ADAPTIVE_BOUND_FACTOR);
+        maxBatchSize = config.hasPath(SINK_BATCH_SIZE_MAX) ? config.getInt(SINK_BATCH_SIZE_MAX) : batchSize * ADAPTIVE_BOUND_FACTOR;
+        if (config.hasPath(SINK_BATCH_TARGET_LATENCY)) {
+            targetLatencyMs = config.getLong(SINK_BATCH_TARGET_LATENCY);
+        }
     }
 
     @Override
@@ -137,20 +174,21 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
         TypeInformation<?>[] fieldTypes = table.getSchema().getFieldTypes();
 
         int[] types = Arrays.stream(fieldTypes).mapToInt(JdbcTypeUtil::typeInformationToSqlType).toArray();
-        SinkFunction<Row> sink = org.apache.flink.connector.jdbc.JdbcSink.sink(
-            query,
-            (st, row) -> JdbcUtils.setRecordToStatement(st, types, row),
-            JdbcExecutionOptions.builder()
-                .withBatchSize(batchSize)
-                .withBatchIntervalMs(batchIntervalMs)
-                .withMaxRetries(maxRetries)
-                .build(),
-            new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
-                .withUrl(dbUrl)
-                .withDriverName(driverName)
-                .withUsername(username)
-                .withPassword(password)
-                .build());
+        AbstractJdbcBatchOutputFormat batchOutputFormat = createBatchOutputFormat(types);
+        SinkFunction<Row> sink;
+        if (batchOutputFormat != null) {
+            sink = new JdbcBatchSinkFunction(batchOutputFormat);
+        } else {
+            sink = org.apache.flink.connector.jdbc.JdbcSink.sink(
+                query,
+                (st, row) -> JdbcUtils.setRecordToStatement(st, types, row),
+                JdbcExecutionOptions.builder()
+                    .withBatchSize(batchSize)
+                    .withBatchIntervalMs(batchIntervalMs)
+                    .withMaxRetries(maxRetries)
+                    .build(),
+                createConnectionOptions());
+        }
 
         if (config.hasPath(PARALLELISM)) {
             dataStream.addSink(sink).setParallelism(config.getInt(PARALLELISM));
@@ -166,6 +204,11 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
         Table table = env.getBatchTableEnvironment().fromDataSet(dataSet);
         TypeInformation<?>[] fieldTypes = table.getSchema().getFieldTypes();
         int[] types = Arrays.stream(fieldTypes).mapToInt(JdbcTypeUtil::typeInformationToSqlType).toArray();
+        AbstractJdbcBatchOutputFormat batchOutputFormat = createBatchOutputFormat(types);
+        if (batchOutputFormat != null) {
+            dataSet.output(batchOutputFormat);
+            return;
+        }
 
         JdbcOutputFormat format = JdbcOutputFormat.buildJdbcOutputFormat()
                 .setDrivername(driverName)
@@ -184,6 +227,53 @@ public class JdbcSink implements FlinkStreamSink, FlinkBatchSink {
         executePostSql();
     }
 
+    private void initBulkLoad() {
+        bulkLoadDialect = JdbcBulkLoadDialect.fromUrl(dbUrl);
+        if (bulkLoadDialect == null) {
+            LOGGER.warn("Bulk load is not supported by {}, fall back to batched inserts", dbUrl);
+            return;
+        }
+        Matcher matcher = INSERT_PATTERN.matcher(query);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(String.format("%s requires a query like INSERT INTO table (columns) VALUES (?, ...) "
+                    + "with only placeholders and no clause after them, but got %s", SINK_BULK_LOAD, query));
+        }
+        bulkLoadTable = matcher.group(TABLE_GROUP);
+        bulkLoadColumns = matcher.group(COLUMNS_GROUP);
+        if (bulkLoadColumns != null && bulkLoadColumns.split(",").length != matcher.group(PLACEHOLDERS_GROUP).split(",").length) {
+            throw new IllegalArgumentException(String.format("The columns and the placeholders of %s do not match", query));
+        }
+    }
+
+    /**
+     * Create the output format of bulk load or adaptive batch size, null to use the batched inserts of Flink.
+     */
+    private AbstractJdbcBatchOutputFormat createBatchOutputFormat(int[] types) {
+        AdaptiveBatchSize adaptiveBatchSize = adaptiveBatch ?
+                new AdaptiveBatchSize(batchSize, minBatchSize, maxBatchSize, targetLatencyMs)
+                : AdaptiveBatchSize.fixed(Math.max(1, batchSize));
+        if (bulkLoadDialect != null) {
+            if (Arrays.stream(types).allMatch(JdbcBulkLoadDialect::isSupportedType)) {
+                return new JdbcBulkOutputFormat(createConnectionOptions(), bulkLoadDialect, bulkLoadTable, bulkLoadColumns,
+                        types, adaptiveBatchSize, batchIntervalMs, maxRetries);
+            }
+            LOGGER.warn("Bulk load does not support binary fields, fall back to batched inserts");
+        }
+        if (adaptiveBatch) {
+            return new JdbcInsertOutputFormat(createConnectionOptions(), query, types, adaptiveBatchSize, batchIntervalMs, maxRetries);
+        }
+        return null;
+    }
+
+    private JdbcConnectionOptions createConnectionOptions() {
+        return new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+                .withUrl(dbUrl)
+                .withDriverName(driverName)
+                .withUsername(username)
+                .withPassword(password)
+                .build();
+    }
+
     private void executePreSql() {
         if (StringUtils.isNotBlank(preSql)) {
             LOGGER.info("Starting to execute pre sql: \n {}", preSql);
@@ -22,6 +22,8 @@ import static org.apache.seatunnel.flink.jdbc.Config.DRIVER;
 import static org.apache.seatunnel.flink.jdbc.Config.PARALLELISM;
 import static org.apache.seatunnel.flink.jdbc.Config.PARTITION_COLUMN;
 import static org.apache.seatunnel.flink.jdbc.Config.PARTITION_LOWER_BOUND;
+import static org.apache.seatunnel.flink.jdbc.Config.PARTITION_SAMPLE_SIZE;
+import static org.apache.seatunnel.flink.jdbc.Config.PARTITION_STRATEGY;
 import static org.apache.seatunnel.flink.jdbc.Config.PARTITION_UPPER_BOUND;
 import static org.apache.seatunnel.flink.jdbc.Config.PASSWORD;
 import static org.apache.seatunnel.flink.jdbc.Config.QUERY;
@@ -32,38 +34,48 @@ import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.BIG_INT_TYPE_IN
 import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.INT_TYPE_INFO;
 import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.LONG_TYPE_INFO;
 import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.SHORT_TYPE_INFO;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.STRING_TYPE_INFO;
 
 import org.apache.seatunnel.common.config.CheckConfigUtil;
 import org.apache.seatunnel.common.config.CheckResult;
 import org.apache.seatunnel.flink.FlinkEnvironment;
 import org.apache.seatunnel.flink.batch.FlinkBatchSource;
 import org.apache.seatunnel.flink.jdbc.input.DefaultTypeInformationMap;
+import org.apache.seatunnel.flink.jdbc.input.JdbcFieldReader;
 import org.apache.seatunnel.flink.jdbc.input.JdbcInputFormat;
 import org.apache.seatunnel.flink.jdbc.input.MysqlTypeInformationMap;
 import org.apache.seatunnel.flink.jdbc.input.OracleTypeInformationMap;
 import org.apache.seatunnel.flink.jdbc.input.PostgresTypeInformationMap;
 import org.apache.seatunnel.flink.jdbc.input.TypeInformationMap;
+import org.apache.seatunnel.flink.jdbc.split.JdbcBoundariesParametersProvider;
 
 import org.apache.seatunnel.shade.com.typesafe.config.Config;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.api.common.typeinfo.SqlTimeTypeInfo;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.DataSet;
 import org.apache.flink.api.java.operators.DataSource;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
-import org.apache.flink.connector.jdbc.split.JdbcNumericBetweenParametersProvider;
 import org.apache.flink.connector.jdbc.split.JdbcParameterValuesProvider;
 import org.apache.flink.types.Row;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -72,6 +84,16 @@ public class JdbcSource implements FlinkBatchSource {
     private static final long serialVersionUID = -3349505356339446415L;
     private static final Logger LOGGER = LoggerFactory.getLogger(JdbcSource.class);
     private static final int DEFAULT_FETCH_SIZE = 10000;
+    private static final String RANGE_STRATEGY = "range";
+    private static final String SAMPLE_STRATEGY = "sample";
+    private static final int DEFAULT_SAMPLE_SIZE = 10000;
+    /**
+     * The columns of COUNT, MIN and MAX of the partition column.
+     */
+    private static final int COUNT_INDEX = 1;
+    private static final int MIN_INDEX = 2;
+    private static final int MAX_INDEX = 3;
+    private static final int DATE_LENGTH = 10;
 
     private Config config;
     private String password;
@@ -102,7 +124,15 @@ public class JdbcSource implements FlinkBatchSource {
 
     @Override
     public CheckResult checkConfig() {
-        return CheckConfigUtil.checkAllExists(config, DRIVER, URL, USERNAME, QUERY);
+        CheckResult checkResult = CheckConfigUtil.checkAllExists(config, DRIVER, URL, USERNAME, QUERY);
+        if (checkResult.isSuccess() && config.hasPath(PARTITION_STRATEGY)) {
+            String strategy = config.getString(PARTITION_STRATEGY);
+            if (!RANGE_STRATEGY.equals(strategy) && !SAMPLE_STRATEGY.equals(strategy)) {
+                return CheckResult.error(String.format("%s only supports %s and %s, but got %s",
+                        PARTITION_STRATEGY, RANGE_STRATEGY, SAMPLE_STRATEGY, strategy));
+            }
+        }
+        return checkResult;
     }
 
     @Override
@@ -131,7 +161,7 @@ public class JdbcSource implements FlinkBatchSource {
 
         try (Connection connection = DriverManager.getConnection(dbUrl, username, password)) {
             tableFieldInfo = initTableField(connection, query);
-            RowTypeInfo rowTypeInfo = getRowTypeInfo();
+            RowTypeInfo rowTypeInfo = getRowTypeInfo(tableFieldInfo);
             JdbcInputFormat.JdbcInputFormatBuilder builder = JdbcInputFormat.buildFlinkJdbcInputFormat();
             if (config.hasPath(PARTITION_COLUMN)) {
                 String partitionColumn = config.getString(PARTITION_COLUMN);
@@ -139,13 +169,17 @@ public class JdbcSource implements FlinkBatchSource {
                     throw new IllegalArgumentException(String.format("field %s not contain in query sql %s",
                             partitionColumn, query));
                 }
-                if (!isNumericType(rowTypeInfo.getTypeAt(partitionColumn))) {
-                    throw new IllegalArgumentException(String.format("%s is not numeric type", partitionColumn));
+                TypeInformation<?> partitionType = rowTypeInfo.getTypeAt(partitionColumn);
+                if (!isNumericType(partitionType) && !isTemporalType(partitionType) && !STRING_TYPE_INFO.equals(partitionType)) {
+                    throw new IllegalArgumentException(String.format("%s is not numeric, date, timestamp or string type", partitionColumn));
                 }
                 JdbcParameterValuesProvider jdbcParameterValuesProvider =
-                        initPartition(partitionColumn, connection, query);
-                builder.setParametersProvider(jdbcParameterValuesProvider);
-                query = String.format("SELECT * FROM (%s) tt where " + partitionColumn + " >= ? AND " + partitionColumn + " < ?", query);
+                        initPartition(partitionColumn, partitionType, connection, query);
+                // an empty result has no boundary, it is read without partition
+                if (jdbcParameterValuesProvider != null) {
+                    builder.setParametersProvider(jdbcParameterValuesProvider);
+                    query = JdbcBoundariesParametersProvider.queryTemplate(query, partitionColumn);
+                }
             }
             builder.setDrivername(driverName).setDBUrl(dbUrl).setUsername(username)
                     .setPassword(password).setQuery(query).setFetchSize(fetchSize)
@@ -161,32 +195,158 @@ public class JdbcSource implements FlinkBatchSource {
         return "JdbcSource";
     }
 
-    private JdbcParameterValuesProvider initPartition(String columnName, Connection connection, String query) throws SQLException {
-        long max = Long.MAX_VALUE;
-        long min = Long.MIN_VALUE;
+    private JdbcParameterValuesProvider initPartition(String columnName, TypeInformation<?> type, Connection connection, String query) throws SQLException {
+        int splits = parallelism * 2;
+        String strategy;
+        if (config.hasPath(PARTITION_STRATEGY)) {
+            strategy = config.getString(PARTITION_STRATEGY);
+        } else {
+            strategy = STRING_TYPE_INFO.equals(type) ? SAMPLE_STRATEGY : RANGE_STRATEGY;
+        }
+        List<? extends Serializable> boundaries;
+        boolean bounded = false;
+        if (SAMPLE_STRATEGY.equals(strategy)) {
+            boundaries = sampleBoundaries(columnName, type, connection, query, splits);
+        } else if (isNumericType(type)) {
+            bounded = config.hasPath(PARTITION_UPPER_BOUND) || config.hasPath(PARTITION_LOWER_BOUND);
+            boundaries = numericBoundaries(columnName, connection, query, splits);
+        } else if (isTemporalType(type)) {
+            bounded = config.hasPath(PARTITION_UPPER_BOUND) || config.hasPath(PARTITION_LOWER_BOUND);
+            boundaries = temporalBoundaries(columnName, connection, query, splits);
+        } else {
+            throw new IllegalArgumentException(String.format("%s %s only supports numeric, date and timestamp type",
+                    PARTITION_STRATEGY, RANGE_STRATEGY));
+        }
+        if (boundaries.isEmpty()) {
+            return null;
+        }
+        LOGGER.info("Partition column {} with {} strategy, boundaries: {}", columnName, strategy, boundaries);
+        // rows out of the configured bounds are not read, including the null ones
+        return new JdbcBoundariesParametersProvider(boundaries, !bounded);
+    }
+
+    private List<Long> numericBoundaries(String columnName, Connection connection, String query, int splits) throws SQLException {
         if (config.hasPath(PARTITION_UPPER_BOUND) && config.hasPath(PARTITION_LOWER_BOUND)) {
-            max = config.getLong(PARTITION_UPPER_BOUND);
-            min = config.getLong(PARTITION_LOWER_BOUND);
-            return new JdbcNumericBetweenParametersProvider(min, max).ofBatchNum(parallelism * 2);
-        }
-        try (ResultSet rs = connection.createStatement().executeQuery(String.format("SELECT MAX(%s),MIN(%s) " +
-                "FROM (%s) tt", columnName, columnName, query))) {
-            if (rs.next()) {
-                max = config.hasPath(PARTITION_UPPER_BOUND) ? config.getLong(PARTITION_UPPER_BOUND) :
-                        Long.parseLong(rs.getString(1));
-                min = config.hasPath(PARTITION_LOWER_BOUND) ? config.getLong(PARTITION_LOWER_BOUND) :
-                        Long.parseLong(rs.getString(2));
+            return JdbcBoundariesParametersProvider.numericBoundaries(config.getLong(PARTITION_LOWER_BOUND),
+                    config.getLong(PARTITION_UPPER_BOUND), splits);
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(String.format("SELECT MAX(%s),MIN(%s) FROM (%s) tt", columnName, columnName, query))) {
+            if (!rs.next() || rs.getString(1) == null) {
+                return Collections.emptyList();
+            }
+            long max = config.hasPath(PARTITION_UPPER_BOUND) ? config.getLong(PARTITION_UPPER_BOUND) :
+                    Long.parseLong(rs.getString(1));
+            long min = config.hasPath(PARTITION_LOWER_BOUND) ? config.getLong(PARTITION_LOWER_BOUND) :
+                    Long.parseLong(rs.getString(2));
+            return JdbcBoundariesParametersProvider.numericBoundaries(min, max, splits);
+        }
+    }
+
+    private List<Timestamp> temporalBoundaries(String columnName, Connection connection, String query, int splits) throws SQLException {
+        if (config.hasPath(PARTITION_UPPER_BOUND) && config.hasPath(PARTITION_LOWER_BOUND)) {
+            return JdbcBoundariesParametersProvider.temporalBoundaries(parseTimestamp(config.getString(PARTITION_LOWER_BOUND)),
+                    parseTimestamp(config.getString(PARTITION_UPPER_BOUND)), splits);
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(String.format("SELECT MAX(%s),MIN(%s) FROM (%s) tt", columnName, columnName, query))) {
+            if (!rs.next() || rs.getTimestamp(1) == null) {
+                return Collections.emptyList();
+            }
+            Timestamp max = config.hasPath(PARTITION_UPPER_BOUND) ? parseTimestamp(config.getString(PARTITION_UPPER_BOUND)) :
+                    rs.getTimestamp(1);
+            Timestamp min = config.hasPath(PARTITION_LOWER_BOUND) ? parseTimestamp(config.getString(PARTITION_LOWER_BOUND)) :
+                    rs.getTimestamp(2);
+            return JdbcBoundariesParametersProvider.temporalBoundaries(min, max, splits);
+        }
+    }
+
+    /**
+     * Pick the boundaries from a random sample of the partition column, so that each split holds about the same number
+     * of rows however the keys are distributed. The database filters the sample and orders only the sampled keys, which
+     * keeps the boundaries consistent with its collation. Without a known random function, the whole column is ordered
+     * and read.
+     */
+    private List<Serializable> sampleBoundaries(String columnName, TypeInformation<?> type, Connection connection, String query, int splits) throws SQLException {
+        JdbcFieldReader reader = getKeyReader(type);
+        long count;
+        Serializable min;
+        Serializable max;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(String.format("SELECT COUNT(%s),MIN(%s),MAX(%s) FROM (%s) tt",
+                     columnName, columnName, columnName, query))) {
+            if (!rs.next() || rs.getLong(COUNT_INDEX) == 0) {
+                return Collections.emptyList();
+            }
+            count = rs.getLong(COUNT_INDEX);
+            min = (Serializable) reader.read(rs, MIN_INDEX);
+            max = (Serializable) reader.read(rs, MAX_INDEX);
+        }
+        int sampleSize = config.hasPath(PARTITION_SAMPLE_SIZE) ? config.getInt(PARTITION_SAMPLE_SIZE) : DEFAULT_SAMPLE_SIZE;
+        String filter = columnName + " IS NOT NULL";
+        if (count > sampleSize) {
+            String random = getRandomFunction(connection.getMetaData().getDatabaseProductName());
+            if (random != null) {
+                String fraction = BigDecimal.valueOf((double) sampleSize / count).toPlainString();
+                filter = String.format("%s AND %s < %s", filter, random, fraction);
+            } else {
+                LOGGER.warn("No random function is known for the database, {} {} orders and reads all the {} keys of {}",
+                        PARTITION_STRATEGY, SAMPLE_STRATEGY, count, columnName);
+            }
+        }
+        List<Serializable> sample = new ArrayList<>();
+        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(fetchSize);
+            try (ResultSet rs = statement.executeQuery(String.format("SELECT %s FROM (%s) tt WHERE %s ORDER BY %s",
+                    columnName, query, filter, columnName))) {
+                while (rs.next()) {
+                    sample.add((Serializable) reader.read(rs, 1));
+                }
             }
         }
-        return new JdbcNumericBetweenParametersProvider(min, max).ofBatchNum(parallelism * 2);
+        return JdbcBoundariesParametersProvider.sampleBoundaries(min, max, sample, splits);
+    }
+
+    /**
+     * The function of a uniform random value in [0, 1) evaluated for each row, null if unknown.
+     */
+    private static String getRandomFunction(String databaseDialect) {
+        if (StringUtils.containsIgnoreCase(databaseDialect, "mysql")) {
+            return "RAND()";
+        } else if (StringUtils.containsIgnoreCase(databaseDialect, "postgresql")) {
+            return "RANDOM()";
+        } else if (StringUtils.containsIgnoreCase(databaseDialect, "oracle")) {
+            return "DBMS_RANDOM.VALUE";
+        }
+        return null;
+    }
+
+    private JdbcFieldReader getKeyReader(TypeInformation<?> type) {
+        if (isNumericType(type)) {
+            return JdbcFieldReader.of(Long.class);
+        } else if (isTemporalType(type)) {
+            return JdbcFieldReader.of(Timestamp.class);
+        }
+        return JdbcFieldReader.of(String.class);
     }
 
-    private boolean isNumericType(TypeInformation<?> type) {
+    static Timestamp parseTimestamp(String value) {
+        if (value.length() == DATE_LENGTH) {
+            return Timestamp.valueOf(value + " 00:00:00");
+        }
+        return Timestamp.valueOf(value);
+    }
+
+    static boolean isNumericType(TypeInformation<?> type) {
         return type.equals(INT_TYPE_INFO) || type.equals(SHORT_TYPE_INFO)
                 || type.equals(LONG_TYPE_INFO) || type.equals(BIG_INT_TYPE_INFO);
     }
 
-    private Map<String, TypeInformation<?>> initTableField(Connection connection, String selectSql) {
+    static boolean isTemporalType(TypeInformation<?> type) {
+        return type.equals(SqlTimeTypeInfo.DATE) || type.equals(SqlTimeTypeInfo.TIMESTAMP);
+    }
+
+    static Map<String, TypeInformation<?>> initTableField(Connection connection, String selectSql) {
         try {
             String databaseDialect = connection.getMetaData().getDatabaseProductName();
             PreparedStatement preparedStatement = connection.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
@@ -204,7 +364,7 @@ public class JdbcSource implements FlinkBatchSource {
         return new LinkedHashMap<>();
     }
 
-    private Map<String, TypeInformation<?>> getRowInfo(ResultSetMetaData rsMeta, String databaseDialect) throws SQLException {
+    private static Map<String, TypeInformation<?>> getRowInfo(ResultSetMetaData rsMeta, String databaseDialect) throws SQLException {
         Map<String, TypeInformation<?>> map = new LinkedHashMap<>();
         if (rsMeta == null) {
             throw new SQLException("No result set metadata available to resolver row info!");
@@ -221,7 +381,7 @@ public class JdbcSource implements FlinkBatchSource {
         return map;
     }
 
-    private RowTypeInfo getRowTypeInfo() {
+    static RowTypeInfo getRowTypeInfo(Map<String, TypeInformation<?>> tableFieldInfo) {
         int size = tableFieldInfo.size();
         Set<String> fields = tableFieldInfo.keySet();
         TypeInformation<?>[] typeInformation = new TypeInformation<?>[size];
@@ -235,7 +395,7 @@ public class JdbcSource implements FlinkBatchSource {
         return new RowTypeInfo(typeInformation, names);
     }
 
-    private TypeInformationMap getTypeInformationMap(String databaseDialect) {
+    private static TypeInformationMap getTypeInformationMap(String databaseDialect) {
         if (StringUtils.containsIgnoreCase(databaseDialect, "mysql")) {
             return new MysqlTypeInformationMap();
         } else if (StringUtils.containsIgnoreCase(databaseDialect, "postgresql")) {
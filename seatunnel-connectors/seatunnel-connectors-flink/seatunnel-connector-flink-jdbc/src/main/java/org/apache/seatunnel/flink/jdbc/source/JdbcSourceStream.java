@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.source;
+
+import static org.apache.seatunnel.flink.jdbc.Config.DRIVER;
+import static org.apache.seatunnel.flink.jdbc.Config.PARALLELISM;
+import static org.apache.seatunnel.flink.jdbc.Config.PASSWORD;
+import static org.apache.seatunnel.flink.jdbc.Config.POLL_INTERVAL;
+import static org.apache.seatunnel.flink.jdbc.Config.QUERY;
+import static org.apache.seatunnel.flink.jdbc.Config.SOURCE_FETCH_SIZE;
+import static org.apache.seatunnel.flink.jdbc.Config.TRACKING_COLUMN;
+import static org.apache.seatunnel.flink.jdbc.Config.TRACKING_START_VALUE;
+import static org.apache.seatunnel.flink.jdbc.Config.URL;
+import static org.apache.seatunnel.flink.jdbc.Config.USERNAME;
+import static org.apache.flink.api.common.typeinfo.BasicTypeInfo.LONG_TYPE_INFO;
+
+import org.apache.seatunnel.common.config.CheckConfigUtil;
+import org.apache.seatunnel.common.config.CheckResult;
+import org.apache.seatunnel.flink.FlinkEnvironment;
+import org.apache.seatunnel.flink.jdbc.input.JdbcIncrementalSplitReader;
+import org.apache.seatunnel.flink.jdbc.input.JdbcIncrementalSplitSource;
+import org.apache.seatunnel.flink.stream.FlinkStreamSource;
+
+import org.apache.seatunnel.shade.com.typesafe.config.Config;
+
+import org.apache.flink.api.common.typeinfo.SqlTimeTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.types.Row;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Continuously reads the new rows of a query, tracked by a monotonic column such as an auto-increment id or an update
+ * timestamp. Only the rows above the checkpointed high-water mark are read at each poll, in parallel splits.
+ */
+public class JdbcSourceStream implements FlinkStreamSource {
+
+    private static final long serialVersionUID = 4806612403573613186L;
+    private static final int DEFAULT_FETCH_SIZE = 10000;
+    private static final long DEFAULT_POLL_INTERVAL = 10000L;
+
+    private Config config;
+    private String query;
+    private String trackingColumn;
+    private boolean temporal;
+    private Serializable startValue;
+    private long pollInterval = DEFAULT_POLL_INTERVAL;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int parallelism;
+    private RowTypeInfo rowTypeInfo;
+    private JdbcConnectionOptions connectionOptions;
+
+    @Override
+    public DataStream<Row> getData(FlinkEnvironment env) {
+        TypeInformation<?> boundType = temporal ? SqlTimeTypeInfo.TIMESTAMP : LONG_TYPE_INFO;
+        return env.getStreamExecutionEnvironment()
+                .addSource(new JdbcIncrementalSplitSource(connectionOptions, query, trackingColumn, temporal,
+                        startValue, pollInterval, parallelism))
+                .returns(new RowTypeInfo(boundType, boundType))
+                .setParallelism(1)
+                .name("JdbcSourceStream splits")
+                .rebalance()
+                .flatMap(new JdbcIncrementalSplitReader(connectionOptions, query, trackingColumn, rowTypeInfo, fetchSize))
+                .returns(rowTypeInfo)
+                .setParallelism(parallelism)
+                .name("JdbcSourceStream reader");
+    }
+
+    @Override
+    public void setConfig(Config config) {
+        this.config = config;
+    }
+
+    @Override
+    public Config getConfig() {
+        return config;
+    }
+
+    @Override
+    public CheckResult checkConfig() {
+        return CheckConfigUtil.checkAllExists(config, DRIVER, URL, USERNAME, QUERY, TRACKING_COLUMN);
+    }
+
+    @Override
+    public void prepare(FlinkEnvironment env) {
+        String driverName = config.getString(DRIVER);
+        String dbUrl = config.getString(URL);
+        String username = config.getString(USERNAME);
+        String password = config.hasPath(PASSWORD) ? config.getString(PASSWORD) : null;
+        query = config.getString(QUERY);
+        trackingColumn = config.getString(TRACKING_COLUMN);
+
+        if (config.hasPath(SOURCE_FETCH_SIZE)) {
+            fetchSize = config.getInt(SOURCE_FETCH_SIZE);
+        }
+        if (config.hasPath(POLL_INTERVAL)) {
+            pollInterval = config.getLong(POLL_INTERVAL);
+        }
+        if (config.hasPath(PARALLELISM)) {
+            parallelism = config.getInt(PARALLELISM);
+        } else {
+            parallelism = env.getStreamExecutionEnvironment().getParallelism();
+        }
+        try {
+            Class.forName(driverName);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("jdbc connection init failed.", e);
+        }
+
+        try (Connection connection = DriverManager.getConnection(dbUrl, username, password)) {
+            Map<String, TypeInformation<?>> tableFieldInfo = JdbcSource.initTableField(connection, query);
+            if (!tableFieldInfo.containsKey(trackingColumn)) {
+                throw new IllegalArgumentException(String.format("field %s not contain in query sql %s",
+                        trackingColumn, query));
+            }
+            TypeInformation<?> trackingType = tableFieldInfo.get(trackingColumn);
+            temporal = JdbcSource.isTemporalType(trackingType);
+            if (!temporal && !JdbcSource.isNumericType(trackingType)) {
+                throw new IllegalArgumentException(String.format("%s is not numeric, date or timestamp type", trackingColumn));
+            }
+            rowTypeInfo = JdbcSource.getRowTypeInfo(tableFieldInfo);
+        } catch (SQLException e) {
+            throw new RuntimeException("jdbc connection init failed.", e);
+        }
+        if (config.hasPath(TRACKING_START_VALUE)) {
+            startValue = temporal ? JdbcSource.parseTimestamp(config.getString(TRACKING_START_VALUE))
+                    : config.getLong(TRACKING_START_VALUE);
+        }
+        connectionOptions = new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+                .withDriverName(driverName).withUrl(dbUrl).withUsername(username).withPassword(password).build();
+    }
+
+    @Override
+    public String getPluginName() {
+        return "JdbcSourceStream";
+    }
+}
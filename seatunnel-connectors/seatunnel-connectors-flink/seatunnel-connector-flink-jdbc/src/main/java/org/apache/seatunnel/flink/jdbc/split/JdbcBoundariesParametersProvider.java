@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.split;
+
+import org.apache.flink.connector.jdbc.split.JdbcParameterValuesProvider;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a partition column by an ordered list of boundaries {@code b0 <= b1 <= ... <= bn}.
+ * Split {@code i} reads {@code [b(i), b(i+1))}, the last split also reads {@code bn} itself, so
+ * the splits cover the whole range exactly once whatever the column type is. The first split
+ * can also read the rows whose partition column is null.
+ *
+ * <p>The parameters of each split match the query built by {@link #queryTemplate(String, String)}.
+ */
+public class JdbcBoundariesParametersProvider implements JdbcParameterValuesProvider {
+
+    private static final long serialVersionUID = 4393126460530390768L;
+
+    private static final int INCLUDE = 1;
+    private static final int EXCLUDE = 0;
+
+    private final List<? extends Serializable> boundaries;
+    private final boolean includeNull;
+
+    public JdbcBoundariesParametersProvider(List<? extends Serializable> boundaries, boolean includeNull) {
+        if (boundaries.isEmpty()) {
+            throw new IllegalArgumentException("At least one boundary is required");
+        }
+        this.boundaries = boundaries;
+        this.includeNull = includeNull;
+    }
+
+    /**
+     * Equal width ranges of a numeric column.
+     */
+    public static List<Long> numericBoundaries(long min, long max, int splits) {
+        List<Long> boundaries = new ArrayList<>(splits + 1);
+        BigInteger lower = BigInteger.valueOf(min);
+        BigInteger width = BigInteger.valueOf(max).subtract(lower);
+        BigInteger count = BigInteger.valueOf(splits);
+        for (int i = 0; i < splits; i++) {
+            addDistinct(boundaries, width.multiply(BigInteger.valueOf(i)).divide(count).add(lower).longValue());
+        }
+        addDistinct(boundaries, max);
+        return boundaries;
+    }
+
+    /**
+     * Equal width ranges of a date or timestamp column.
+     */
+    public static List<Timestamp> temporalBoundaries(Timestamp min, Timestamp max, int splits) {
+        List<Timestamp> boundaries = new ArrayList<>(splits + 1);
+        for (long millis : numericBoundaries(min.getTime(), max.getTime(), splits)) {
+            boundaries.add(new Timestamp(millis));
+        }
+        // keep the sub-millisecond precision of the bounds, the last split matches the maximum with equality
+        boundaries.set(0, min);
+        if (boundaries.size() > 1) {
+            boundaries.set(boundaries.size() - 1, max);
+        } else {
+            addDistinct(boundaries, max);
+        }
+        return boundaries;
+    }
+
+    /**
+     * Boundaries at the quantiles of a sorted sample of the column, so that each split holds about the same number of
+     * rows however the keys are distributed. The minimum and maximum of the column bound the first and the last split,
+     * the sample is ordered the same way as them.
+     */
+    public static <T> List<T> sampleBoundaries(T min, T max, List<T> sortedSample, int splits) {
+        List<T> boundaries = new ArrayList<>(splits + 1);
+        boundaries.add(min);
+        for (int i = 1; i < splits && !sortedSample.isEmpty(); i++) {
+            addDistinct(boundaries, sortedSample.get((int) ((long) sortedSample.size() * i / splits)));
+        }
+        addDistinct(boundaries, max);
+        return boundaries;
+    }
+
+    /**
+     * Adds the boundary unless it is equal to the last one, the boundaries are built in ascending order.
+     */
+    public static <T> void addDistinct(List<T> boundaries, T boundary) {
+        if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+            boundaries.add(boundary);
+        }
+    }
+
+    /**
+     * Wraps the query with the split conditions on the partition column.
+     */
+    public static String queryTemplate(String query, String column) {
+        return String.format("SELECT * FROM (%s) tt WHERE (%s >= ? AND (%s < ? OR %s = ?)) OR (%s IS NULL AND 1 = ?)",
+                query, column, column, column, column);
+    }
+
+    @Override
+    public Serializable[][] getParameterValues() {
+        int splits = Math.max(1, boundaries.size() - 1);
+        Serializable[][] parameters = new Serializable[splits][];
+        Serializable max = boundaries.get(boundaries.size() - 1);
+        for (int i = 0; i < splits; i++) {
+            Serializable lower = boundaries.get(i);
+            Serializable upper = boundaries.get(Math.min(i + 1, boundaries.size() - 1));
+            // only the last split matches the maximum with equality, the others repeat their lower bound
+            Serializable equal = i == splits - 1 ? max : lower;
+            int nulls = includeNull && i == 0 ? INCLUDE : EXCLUDE;
+            parameters[i] = new Serializable[]{lower, upper, equal, nulls};
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.input;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the {@link JdbcFieldReader} of each field with the former per value read of {@link JdbcInputFormat}, which
+ * probed each value with getObject() and then walked the type class cascade, against an embedded H2 table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = JdbcFieldReaderBenchmark.WARMUP_ITERATIONS)
+@Measurement(iterations = JdbcFieldReaderBenchmark.MEASUREMENT_ITERATIONS)
+public class JdbcFieldReaderBenchmark {
+
+    static final int WARMUP_ITERATIONS = 3;
+    static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final int ROW_COUNT = 10_000;
+    /**
+     * Every n-th row holds SQL NULL in its nullable columns.
+     */
+    private static final int NULL_ROW_INTERVAL = 10;
+
+    private static final Class<?>[] FIELD_CLASSES = {Long.class, String.class, Double.class, Integer.class, Timestamp.class};
+
+    private Connection connection;
+    private PreparedStatement query;
+    private JdbcFieldReader[] fieldReaders;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jdbc_field_reader_benchmark");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE t_benchmark (id BIGINT, name VARCHAR(64), score DOUBLE, age INT, created TIMESTAMP)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO t_benchmark VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                boolean nullRow = i % NULL_ROW_INTERVAL == 0;
+                Object[] values = {(long) i, nullRow ? null : "name-" + i, nullRow ? null : (double) i, nullRow ? null : i, new Timestamp(i)};
+                for (int pos = 0; pos < values.length; pos++) {
+                    insert.setObject(pos + 1, values[pos]);
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        query = connection.prepareStatement("SELECT id, name, score, age, created FROM t_benchmark");
+
+        fieldReaders = new JdbcFieldReader[FIELD_CLASSES.length];
+        for (int pos = 0; pos < fieldReaders.length; pos++) {
+            fieldReaders[pos] = JdbcFieldReader.of(FIELD_CLASSES[pos]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        query.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void fieldReaders(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                for (int pos = 0; pos < fieldReaders.length; pos++) {
+                    blackhole.consume(fieldReaders[pos].read(resultSet, pos + 1));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void getObjectProbe(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                for (int pos = 0; pos < FIELD_CLASSES.length; pos++) {
+                    blackhole.consume(probeAndRead(resultSet, pos + 1, FIELD_CLASSES[pos]));
+                }
+            }
+        }
+    }
+
+    private static Object probeAndRead(ResultSet resultSet, int index, Class<?> clazz) throws SQLException {
+        Object v = resultSet.getObject(index);
+        if (Objects.isNull(v)) {
+            return null;
+        }
+        if (String.class == clazz) {
+            return String.valueOf(v);
+        } else if (Boolean.class == clazz) {
+            return resultSet.getBoolean(index);
+        } else if (Byte.class == clazz) {
+            return resultSet.getByte(index);
+        } else if (Short.class == clazz) {
+            return resultSet.getShort(index);
+        } else if (Integer.class == clazz) {
+            return resultSet.getInt(index);
+        } else if (Long.class == clazz) {
+            return resultSet.getLong(index);
+        } else if (Float.class == clazz) {
+            return resultSet.getFloat(index);
+        } else if (Double.class == clazz) {
+            return resultSet.getDouble(index);
+        } else if (Character.class == clazz) {
+            return resultSet.getString(index);
+        } else if (Date.class == clazz) {
+            return resultSet.getDate(index);
+        } else if (BigInteger.class == clazz) {
+            return resultSet.getString(index);
+        } else if (Instant.class == clazz) {
+            return resultSet.getString(index);
+        } else if (java.sql.Date.class == clazz) {
+            return resultSet.getDate(index);
+        } else if (Time.class == clazz) {
+            return resultSet.getTime(index);
+        } else if (BigDecimal.class == clazz) {
+            return resultSet.getBigDecimal(index);
+        } else if (Timestamp.class == clazz) {
+            return resultSet.getTimestamp(index);
+        } else if (byte[].class == clazz) {
+            return resultSet.getBytes(index);
+        } else {
+            return resultSet.getObject(index);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JdbcFieldReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
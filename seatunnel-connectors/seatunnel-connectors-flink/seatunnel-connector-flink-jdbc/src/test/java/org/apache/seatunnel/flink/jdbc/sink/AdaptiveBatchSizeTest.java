@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveBatchSizeTest {
+
+    private static final int INITIAL = 100;
+    private static final int MIN = 10;
+    private static final int MAX = 200;
+    private static final long TARGET_LATENCY_MS = 1000L;
+    private static final long FAST_LATENCY_MS = TARGET_LATENCY_MS / 2;
+    private static final long SLOW_LATENCY_MS = TARGET_LATENCY_MS + 1;
+    /**
+     * Enough batches to reach either bound from the initial size.
+     */
+    private static final int MANY_BATCHES = 100;
+
+    @Test
+    public void testGrowOnlyOnFullBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL, MIN, MAX, TARGET_LATENCY_MS);
+        batchSize.onSuccess(INITIAL - 1, FAST_LATENCY_MS);
+        Assert.assertEquals(INITIAL, batchSize.current());
+        batchSize.onSuccess(INITIAL, FAST_LATENCY_MS);
+        Assert.assertEquals(INITIAL + MIN, batchSize.current());
+        batchSize.onSuccess(INITIAL + MIN, TARGET_LATENCY_MS);
+        Assert.assertEquals(INITIAL + MIN + MIN, batchSize.current());
+    }
+
+    @Test
+    public void testHalveOnSlowBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL, MIN, MAX, TARGET_LATENCY_MS);
+        batchSize.onSuccess(INITIAL, SLOW_LATENCY_MS);
+        Assert.assertEquals(INITIAL / 2, batchSize.current());
+        // a slow partial batch also halves the size
+        batchSize.onSuccess(1, SLOW_LATENCY_MS);
+        Assert.assertEquals(INITIAL / 2 / 2, batchSize.current());
+    }
+
+    @Test
+    public void testHalveOnFailedBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL, MIN, MAX, TARGET_LATENCY_MS);
+        batchSize.onFailure();
+        Assert.assertEquals(INITIAL / 2, batchSize.current());
+    }
+
+    @Test
+    public void testClampToMax() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL, MIN, MAX, TARGET_LATENCY_MS);
+        for (int i = 0; i < MANY_BATCHES; i++) {
+            batchSize.onSuccess(batchSize.current(), FAST_LATENCY_MS);
+            Assert.assertTrue(batchSize.current() <= MAX);
+        }
+        Assert.assertEquals(MAX, batchSize.current());
+    }
+
+    @Test
+    public void testClampToMin() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(INITIAL, MIN, MAX, TARGET_LATENCY_MS);
+        for (int i = 0; i < MANY_BATCHES; i++) {
+            batchSize.onFailure();
+            Assert.assertTrue(batchSize.current() >= MIN);
+        }
+        Assert.assertEquals(MIN, batchSize.current());
+    }
+
+    @Test
+    public void testClampInitial() {
+        Assert.assertEquals(MAX, new AdaptiveBatchSize(MAX + 1, MIN, MAX, TARGET_LATENCY_MS).current());
+        Assert.assertEquals(MIN, new AdaptiveBatchSize(MIN - 1, MIN, MAX, TARGET_LATENCY_MS).current());
+    }
+
+    @Test
+    public void testFixed() {
+        AdaptiveBatchSize batchSize = AdaptiveBatchSize.fixed(INITIAL);
+        batchSize.onSuccess(INITIAL, FAST_LATENCY_MS);
+        Assert.assertEquals(INITIAL, batchSize.current());
+        batchSize.onSuccess(INITIAL, Long.MAX_VALUE);
+        Assert.assertEquals(INITIAL, batchSize.current());
+        batchSize.onFailure();
+        Assert.assertEquals(INITIAL, batchSize.current());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequirePositiveMin() {
+        new AdaptiveBatchSize(INITIAL, 0, MAX, TARGET_LATENCY_MS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequireMinNotAboveMax() {
+        new AdaptiveBatchSize(INITIAL, MAX + 1, MAX, TARGET_LATENCY_MS);
+    }
+}
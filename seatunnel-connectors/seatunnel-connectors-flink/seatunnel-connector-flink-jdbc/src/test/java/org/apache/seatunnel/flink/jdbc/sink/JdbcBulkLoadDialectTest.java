@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.sink;
+
+import org.apache.flink.types.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+public class JdbcBulkLoadDialectTest {
+
+    private static final int[] TEXT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+    private static final Row TEXT_ROW = Row.of("say \"hi\"", "C:\\tmp", "line1\nline2\r", null);
+    private static final int[] VALUE_TYPES = {Types.BOOLEAN, Types.BIT, Types.DECIMAL, Types.DECIMAL, Types.INTEGER};
+    private static final Row VALUE_ROW = Row.of(true, false, new BigDecimal("1E+3"), new BigDecimal("12.50"), 1);
+
+    @Test
+    public void testPostgresqlTextRow() {
+        // quotes are doubled, backslashes and line breaks are kept inside the quoted field, an unquoted empty field is null
+        Assert.assertEquals("\"say \"\"hi\"\"\",\"C:\\tmp\",\"line1\nline2\r\",\n",
+            appendRow(JdbcBulkLoadDialect.POSTGRESQL, TEXT_ROW, TEXT_TYPES));
+    }
+
+    @Test
+    public void testPostgresqlValueRow() {
+        Assert.assertEquals("\"true\",\"false\",\"1000\",\"12.50\",\"1\"\n",
+            appendRow(JdbcBulkLoadDialect.POSTGRESQL, VALUE_ROW, VALUE_TYPES));
+    }
+
+    @Test
+    public void testPostgresqlEmptyString() {
+        // an empty string is quoted so that it is not read as null
+        Assert.assertEquals("\"\"\n", appendRow(JdbcBulkLoadDialect.POSTGRESQL, Row.of(""), new int[]{Types.VARCHAR}));
+    }
+
+    @Test
+    public void testMysqlTextRow() {
+        // quotes, backslashes and line breaks are escaped with a backslash, null is \N
+        Assert.assertEquals("\"say \\\"hi\\\"\",\"C:\\\\tmp\",\"line1\\nline2\\r\",\\N\n",
+            appendRow(JdbcBulkLoadDialect.MYSQL, TEXT_ROW, TEXT_TYPES));
+    }
+
+    @Test
+    public void testMysqlValueRow() {
+        // booleans are written as 1 and 0 for BOOLEAN and BIT columns
+        Assert.assertEquals("\"1\",\"0\",\"1000\",\"12.50\",\"1\"\n",
+            appendRow(JdbcBulkLoadDialect.MYSQL, VALUE_ROW, VALUE_TYPES));
+    }
+
+    @Test
+    public void testAppendRows() {
+        StringBuilder buffer = new StringBuilder();
+        JdbcBulkLoadDialect.MYSQL.appendRow(buffer, Row.of(1, "a"), new int[]{Types.INTEGER, Types.VARCHAR});
+        JdbcBulkLoadDialect.MYSQL.appendRow(buffer, Row.of(2, "b"), new int[]{Types.INTEGER, Types.VARCHAR});
+        Assert.assertEquals("\"1\",\"a\"\n\"2\",\"b\"\n", buffer.toString());
+    }
+
+    @Test
+    public void testFromUrl() {
+        Assert.assertEquals(JdbcBulkLoadDialect.POSTGRESQL, JdbcBulkLoadDialect.fromUrl("jdbc:postgresql://localhost/test"));
+        Assert.assertEquals(JdbcBulkLoadDialect.MYSQL, JdbcBulkLoadDialect.fromUrl("JDBC:MYSQL://localhost/test"));
+        Assert.assertNull(JdbcBulkLoadDialect.fromUrl("jdbc:oracle:thin:@localhost:1521:test"));
+    }
+
+    private static String appendRow(JdbcBulkLoadDialect dialect, Row row, int[] sqlTypes) {
+        StringBuilder buffer = new StringBuilder();
+        dialect.appendRow(buffer, row, sqlTypes);
+        return buffer.toString();
+    }
+}
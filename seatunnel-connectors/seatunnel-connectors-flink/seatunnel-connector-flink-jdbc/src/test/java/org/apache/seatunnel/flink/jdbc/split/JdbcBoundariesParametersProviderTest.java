@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.seatunnel.flink.jdbc.split;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class JdbcBoundariesParametersProviderTest {
+
+    private static final int SPLITS = 4;
+    private static final long WIDTH = 100L;
+    private static final long BASE_MILLIS = 1_650_000_000_123L;
+    private static final int BASE_NANOS = 123_456_789;
+
+    @Test
+    public void testNumericBoundaries() {
+        List<Long> boundaries = JdbcBoundariesParametersProvider.numericBoundaries(0L, WIDTH, SPLITS);
+        Assert.assertEquals(SPLITS + 1, boundaries.size());
+        for (int i = 0; i <= SPLITS; i++) {
+            Assert.assertEquals(Long.valueOf(i * WIDTH / SPLITS), boundaries.get(i));
+        }
+    }
+
+    @Test
+    public void testNumericBoundariesOfSingleValue() {
+        Assert.assertEquals(Collections.singletonList(WIDTH), JdbcBoundariesParametersProvider.numericBoundaries(WIDTH, WIDTH, SPLITS));
+    }
+
+    @Test
+    public void testNumericBoundariesOfFewerValuesThanSplits() {
+        // the range [0, 2] has fewer values than splits, the duplicated boundaries are dropped
+        Assert.assertEquals(Arrays.asList(0L, 1L, 2L), JdbcBoundariesParametersProvider.numericBoundaries(0L, 2L, SPLITS));
+    }
+
+    @Test
+    public void testNumericBoundariesOfLongExtremes() {
+        Assert.assertEquals(Arrays.asList(Long.MIN_VALUE, -1L, Long.MAX_VALUE),
+            JdbcBoundariesParametersProvider.numericBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+
+        List<Long> boundaries = JdbcBoundariesParametersProvider.numericBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, SPLITS);
+        Assert.assertEquals(SPLITS + 1, boundaries.size());
+        Assert.assertEquals(Long.valueOf(Long.MIN_VALUE), boundaries.get(0));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), boundaries.get(SPLITS));
+        for (int i = 1; i < boundaries.size(); i++) {
+            Assert.assertTrue(boundaries.get(i - 1) < boundaries.get(i));
+        }
+    }
+
+    @Test
+    public void testTemporalBoundaries() {
+        Timestamp min = timestamp(BASE_MILLIS, BASE_NANOS);
+        Timestamp max = new Timestamp(BASE_MILLIS + WIDTH);
+        List<Timestamp> boundaries = JdbcBoundariesParametersProvider.temporalBoundaries(min, max, SPLITS);
+        Assert.assertEquals(SPLITS + 1, boundaries.size());
+        // the bounds keep their sub-millisecond precision
+        Assert.assertSame(min, boundaries.get(0));
+        Assert.assertSame(max, boundaries.get(SPLITS));
+        for (int i = 1; i < boundaries.size(); i++) {
+            Assert.assertTrue(boundaries.get(i - 1).before(boundaries.get(i)));
+        }
+    }
+
+    @Test
+    public void testTemporalBoundariesOfSingleValue() {
+        Timestamp min = timestamp(BASE_MILLIS, BASE_NANOS);
+        Timestamp max = timestamp(BASE_MILLIS, BASE_NANOS);
+        Assert.assertEquals(Collections.singletonList(min), JdbcBoundariesParametersProvider.temporalBoundaries(min, max, SPLITS));
+    }
+
+    @Test
+    public void testTemporalBoundariesWithinOneMillisecond() {
+        Timestamp min = timestamp(BASE_MILLIS, BASE_NANOS);
+        Timestamp max = timestamp(BASE_MILLIS, BASE_NANOS + 1);
+        Assert.assertEquals(Arrays.asList(min, max), JdbcBoundariesParametersProvider.temporalBoundaries(min, max, SPLITS));
+    }
+
+    @Test
+    public void testGetParameterValues() {
+        List<Long> boundaries = JdbcBoundariesParametersProvider.numericBoundaries(0L, WIDTH, SPLITS);
+        Serializable[][] parameters = new JdbcBoundariesParametersProvider(boundaries, true).getParameterValues();
+        Assert.assertEquals(SPLITS, parameters.length);
+        for (int i = 0; i < SPLITS; i++) {
+            boolean last = i == SPLITS - 1;
+            Serializable[] expected = {boundaries.get(i), boundaries.get(i + 1), last ? WIDTH : boundaries.get(i), i == 0 ? 1 : 0};
+            Assert.assertArrayEquals(expected, parameters[i]);
+        }
+    }
+
+    @Test
+    public void testGetParameterValuesOfSingleValue() {
+        Serializable[][] parameters = new JdbcBoundariesParametersProvider(Collections.singletonList(WIDTH), false).getParameterValues();
+        Assert.assertEquals(1, parameters.length);
+        Assert.assertArrayEquals(new Serializable[]{WIDTH, WIDTH, WIDTH, 0}, parameters[0]);
+    }
+
+    @Test
+    public void testGetParameterValuesOfFewerValuesThanSplits() {
+        List<Long> boundaries = JdbcBoundariesParametersProvider.numericBoundaries(0L, 2L, SPLITS);
+        Serializable[][] parameters = new JdbcBoundariesParametersProvider(boundaries, false).getParameterValues();
+        Assert.assertEquals(2, parameters.length);
+        Assert.assertArrayEquals(new Serializable[]{0L, 1L, 0L, 0}, parameters[0]);
+        Assert.assertArrayEquals(new Serializable[]{1L, 2L, 2L, 0}, parameters[1]);
+    }
+
+    @Test
+    public void testGetParameterValuesOfLongExtremes() {
+        List<Long> boundaries = JdbcBoundariesParametersProvider.numericBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, 2);
+        Serializable[][] parameters = new JdbcBoundariesParametersProvider(boundaries, true).getParameterValues();
+        Assert.assertEquals(2, parameters.length);
+        Assert.assertArrayEquals(new Serializable[]{Long.MIN_VALUE, -1L, Long.MIN_VALUE, 1}, parameters[0]);
+        Assert.assertArrayEquals(new Serializable[]{-1L, Long.MAX_VALUE, Long.MAX_VALUE, 0}, parameters[1]);
+    }
+
+    @Test
+    public void testSampleBoundaries() {
+        List<Long> sample = new ArrayList<>();
+        for (long key = 0; key < WIDTH; key++) {
+            sample.add(key);
+        }
+        List<Long> boundaries = JdbcBoundariesParametersProvider.sampleBoundaries(-1L, WIDTH, sample, SPLITS);
+        Assert.assertEquals(SPLITS + 1, boundaries.size());
+        Assert.assertEquals(Long.valueOf(-1L), boundaries.get(0));
+        for (int i = 1; i < SPLITS; i++) {
+            Assert.assertEquals(Long.valueOf(i * WIDTH / SPLITS), boundaries.get(i));
+        }
+        Assert.assertEquals(Long.valueOf(WIDTH), boundaries.get(SPLITS));
+    }
+
+    @Test
+    public void testSampleBoundariesOfSkewedKeys() {
+        // the duplicated quantiles of a skewed sample are dropped
+        List<String> sample = Arrays.asList("a", "a", "a", "a", "a", "a", "b", "c");
+        Assert.assertEquals(Arrays.asList("a", "b", "d"), JdbcBoundariesParametersProvider.sampleBoundaries("a", "d", sample, SPLITS));
+    }
+
+    @Test
+    public void testSampleBoundariesOfEmptySample() {
+        Assert.assertEquals(Arrays.asList(0L, WIDTH),
+            JdbcBoundariesParametersProvider.sampleBoundaries(0L, WIDTH, Collections.emptyList(), SPLITS));
+        Assert.assertEquals(Collections.singletonList(WIDTH),
+            JdbcBoundariesParametersProvider.sampleBoundaries(WIDTH, WIDTH, Collections.singletonList(WIDTH), SPLITS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequireBoundary() {
+        new JdbcBoundariesParametersProvider(Collections.emptyList(), true);
+    }
+
+    @Test
+    public void testQueryTemplate() {
+        Assert.assertEquals("SELECT * FROM (SELECT * FROM t) tt WHERE (id >= ? AND (id < ? OR id = ?)) OR (id IS NULL AND 1 = ?)",
+            JdbcBoundariesParametersProvider.queryTemplate("SELECT * FROM t", "id"));
+    }
+
+    private static Timestamp timestamp(long millis, int nanos) {
+        Timestamp timestamp = new Timestamp(millis);
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+}
@@ -77,6 +77,16 @@ object Config extends Serializable {
    */
   val RETRY_CODES = "retry_codes"
 
+  /**
+   * The compression of the insert request body, support none and lz4
+   */
+  val COMPRESSION = "compression"
+
+  /**
+   * The format of the insert request body, support values and row_binary
+   */
+  val INSERT_MODE = "insert_mode"
+
   /**
    * ClickhouseFile sink connector used clickhouse-local program's path
    */
@@ -92,6 +102,18 @@ object Config extends Serializable {
    */
   val TMP_BATCH_CACHE_LINE = "tmp_batch_cache_line"
 
+  /**
+   * Group the rows of each shard into one task before generating the clickhouse file, otherwise each partition
+   * generates the clickhouse file of the shards it contains
+   */
+  val SHUFFLE_BY_SHARD = "shuffle_by_shard"
+
+  /**
+   * When shuffle_by_shard is false, the rows of a shard in a partition are generated into a new clickhouse file
+   * every this number of rows
+   */
+  val PART_TARGET_ROWS = "part_target_rows"
+
   /**
    * Clickhouse server node is free-password.
    */
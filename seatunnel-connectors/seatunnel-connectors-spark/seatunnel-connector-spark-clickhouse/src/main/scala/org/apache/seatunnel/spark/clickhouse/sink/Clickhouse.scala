@@ -34,17 +34,18 @@ import org.apache.seatunnel.common.config.TypesafeConfigUtils.{extractSubConfig,
 import org.apache.seatunnel.shade.com.typesafe.config.ConfigFactory
 import org.apache.seatunnel.spark.SparkEnvironment
 import org.apache.seatunnel.spark.batch.SparkBatchSink
-import org.apache.seatunnel.spark.clickhouse.Config.{BULK_SIZE, DATABASE, FIELDS, HOST, PASSWORD, RETRY, RETRY_CODES, SHARDING_KEY, SPLIT_MODE, TABLE, USERNAME}
-import org.apache.seatunnel.spark.clickhouse.sink.Clickhouse.{Shard, acceptedClickHouseSchema, distributedEngine, getClickHouseDistributedTable, getClickHouseSchema, getClickhouseConnection, getClusterShardList, getDefaultValue, getRowShard, parseHost}
+import org.apache.seatunnel.spark.clickhouse.Config.{BULK_SIZE, COMPRESSION, DATABASE, FIELDS, HOST, INSERT_MODE, PASSWORD, RETRY, RETRY_CODES, SHARDING_KEY, SPLIT_MODE, TABLE, USERNAME}
+import org.apache.seatunnel.spark.clickhouse.sink.Clickhouse.{ColumnWriter, Shard, rowBinaryMode, valuesMode, acceptedClickHouseSchema, distributedEngine, getClickHouseDistributedTable, getClickHouseSchema, getClickhouseConnection, getClusterShardList, getDefaultValue, getRowShard, parseHost}
 import org.apache.spark.sql.{Dataset, Row}
-import ru.yandex.clickhouse.{BalancedClickhouseDataSource, ClickHouseArray, ClickHouseConnectionImpl, ClickHousePreparedStatementImpl}
+import ru.yandex.clickhouse.{BalancedClickhouseDataSource, ClickHouseArray, ClickHouseConnectionImpl, ClickHousePreparedStatementImpl, ClickHouseStatement}
+import ru.yandex.clickhouse.util.{ClickHouseRowBinaryStream, ClickHouseStreamCallback}
 import ru.yandex.clickhouse.except.ClickHouseException
 import ru.yandex.clickhouse.domain.ClickHouseDataType
 import java.nio.ByteBuffer
 import java.util.concurrent.ThreadLocalRandom
 import java.util.concurrent.atomic.AtomicLong
 import scala.collection.mutable
-import scala.collection.mutable.ListBuffer
+import scala.collection.mutable.{ArrayBuffer, ListBuffer}
 import scala.annotation.tailrec
 
 class Clickhouse extends SparkBatchSink {
@@ -78,41 +79,92 @@ class Clickhouse extends SparkBatchSink {
       fields = dfFields.toList
       initSQL = initPrepareSQL()
     }
+    val rowBinary = config.getString(INSERT_MODE).equalsIgnoreCase(rowBinaryMode)
+    if (rowBinary) {
+      val nonSupportedType = fields.map(tableSchema).filterNot(RowBinaryWriter.supportOrNot)
+      if (nonSupportedType.nonEmpty) {
+        throw new UnsupportedOperationException("clickHouse data type " +
+          nonSupportedType.map(option => "[" + option + "]").mkString(", ") + " not support in row_binary mode.")
+      }
+    }
     data.foreachPartition { iter: Iterator[Row] =>
+      if (rowBinary) {
+        outputRowBinary(iter, dfFields, bulkSize, retry)
+      } else {
+        outputStatement(iter, dfFields, bulkSize, retry)
+      }
+    }
+  }
 
-      val statementMap = this.shards.map(s => {
-        // if use splitMode, jdbcUrl should use the shard itself url, or else should use multiHosts
-        var jdbcUrl = String.format("jdbc:clickhouse://%s/%s", multiHosts, s._2.database)
-        if (splitMode) {
-          jdbcUrl = s._2.jdbc
-        }
-        val executorBalanced = new BalancedClickhouseDataSource(jdbcUrl, this.properties)
-        val executorConn = executorBalanced.getConnection.asInstanceOf[ClickHouseConnectionImpl]
-        (s._2, executorConn.prepareStatement(this.initSQL).asInstanceOf[ClickHousePreparedStatementImpl])
-      }).toMap
-
-      // hashInstance cannot be serialized, can only be created in a partition
-      val hashInstance = XXHashFactory.fastestInstance().hash64()
-
-      val lengthMap = statementMap.map(s => (s._1, new AtomicLong(0)))
-      for (item <- iter) {
-        val shard = getRowShard(this.splitMode, this.shards, this.shardKey, this.shardKeyType, this
-          .shardWeightCount, this.random, hashInstance, item)
-        val statement = statementMap(shard)
-        renderStatement(fields, item, dfFields, statement)
-        statement.addBatch()
-        val length = lengthMap(shard)
-        if (length.addAndGet(1) >= bulkSize) {
-          execute(statement, retry)
-          length.set(0)
-        }
+  private def getShardConnection(shard: Shard): ClickHouseConnectionImpl = {
+    // if use splitMode, jdbcUrl should use the shard itself url, or else should use multiHosts
+    var jdbcUrl = String.format("jdbc:clickhouse://%s/%s", multiHosts, shard.database)
+    if (splitMode) {
+      jdbcUrl = shard.jdbc
+    }
+    val executorBalanced = new BalancedClickhouseDataSource(jdbcUrl, this.properties)
+    executorBalanced.getConnection.asInstanceOf[ClickHouseConnectionImpl]
+  }
+
+  private def outputStatement(iter: Iterator[Row], dfFields: Array[String], bulkSize: Int, retry: Int): Unit = {
+    val statementMap = this.shards.map(s => {
+      (s._2, getShardConnection(s._2).prepareStatement(this.initSQL).asInstanceOf[ClickHousePreparedStatementImpl])
+    }).toMap
+
+    // hashInstance cannot be serialized, can only be created in a partition
+    val hashInstance = XXHashFactory.fastestInstance().hash64()
+
+    val columnWriters = compileColumnWriters(fields, dfFields)
+
+    val lengthMap = statementMap.map(s => (s._1, new AtomicLong(0)))
+    for (item <- iter) {
+      val shard = getRowShard(this.splitMode, this.shards, this.shardKey, this.shardKeyType, this
+        .shardWeightCount, this.random, hashInstance, item)
+      val statement = statementMap(shard)
+      renderStatement(columnWriters, item, statement)
+      statement.addBatch()
+      val length = lengthMap(shard)
+      if (length.addAndGet(1) >= bulkSize) {
+        execute(statement, retry)
+        length.set(0)
       }
-      statementMap.foreach(s => {
-        execute(s._2, retry)
-        s._2.close()
-      })
+    }
+    statementMap.foreach(s => {
+      execute(s._2, retry)
+      s._2.close()
+    })
+  }
 
+  /**
+   * Encode the rows into RowBinary by the stream of request body directly, without formatting them into text values.
+   */
+  private def outputRowBinary(iter: Iterator[Row], dfFields: Array[String], bulkSize: Int, retry: Int): Unit = {
+    val statementMap = this.shards.map(s => (s._2, getShardConnection(s._2).createStatement())).toMap
+
+    // hashInstance cannot be serialized, can only be created in a partition
+    val hashInstance = XXHashFactory.fastestInstance().hash64()
+
+    val columnWriters = RowBinaryWriter.compileColumnWriters(fields.toList, tableSchema, dfFields)
+    val sql = initRowBinarySQL()
+
+    val bufferMap = statementMap.map(s => (s._1, new ArrayBuffer[Row]()))
+    for (item <- iter) {
+      val shard = getRowShard(this.splitMode, this.shards, this.shardKey, this.shardKeyType, this
+        .shardWeightCount, this.random, hashInstance, item)
+      val buffer = bufferMap(shard)
+      buffer += item
+      if (buffer.length >= bulkSize) {
+        sendRowBinary(statementMap(shard), sql, columnWriters, buffer, retry)
+        buffer.clear()
+      }
     }
+    statementMap.foreach(s => {
+      val buffer = bufferMap(s._1)
+      if (buffer.nonEmpty) {
+        sendRowBinary(s._2, sql, columnWriters, buffer, retry)
+      }
+      s._2.close()
+    })
   }
 
   override def checkConfig(): CheckResult = {
@@ -171,6 +223,20 @@ class Clickhouse extends SparkBatchSink {
         this.fields = config.getStringList(FIELDS)
         checkResult = acceptedClickHouseSchema(this.fields.toList, this.tableSchema, this.table)
       }
+      if (config.hasPath(INSERT_MODE) && !Seq(valuesMode, rowBinaryMode).exists(_.equalsIgnoreCase(config.getString(INSERT_MODE)))) {
+        checkResult = CheckResult.error(s"unknown insert_mode '${config.getString(INSERT_MODE)}', only support $valuesMode and $rowBinaryMode")
+      }
+      if (config.hasPath(COMPRESSION)) {
+        config.getString(COMPRESSION).toLowerCase match {
+          case "none" =>
+          case "lz4" =>
+            // the request body is compressed by the client and decompressed by the server
+            properties.put("decompress", "true")
+            properties.put("compress", "true")
+          case other =>
+            checkResult = CheckResult.error(s"unknown compression '$other', only support none and lz4")
+        }
+      }
     }
     checkResult
   }
@@ -185,7 +251,8 @@ class Clickhouse extends SparkBatchSink {
         BULK_SIZE -> 20000,
         // "retry_codes" -> util.Arrays.asList(ClickHouseErrorCode.NETWORK_ERROR.code),
         RETRY_CODES -> util.Arrays.asList(),
-        RETRY -> 1))
+        RETRY -> 1,
+        INSERT_MODE -> valuesMode))
     config = config.withFallback(defaultConfig)
     retryCodes = config.getIntList(RETRY_CODES)
   }
@@ -207,106 +274,125 @@ class Clickhouse extends SparkBatchSink {
     sql
   }
 
-  private def renderDefaultStatement(
-                                      index: Int,
-                                      fieldType: String,
-                                      statement: ClickHousePreparedStatementImpl): Unit = {
-    statement.setObject(index + 1, getDefaultValue(fieldType))
+  private def initRowBinarySQL(): String = {
+    var table = this.table
+    if (splitMode) {
+      table = this.shardTable
+    }
+    String.format("insert into %s (%s)", table, this.fields.mkString(","))
   }
 
-  private def renderBaseTypeStatement(
-                                       index: Int,
-                                       fieldIndex: Int,
-                                       fieldType: String,
-                                       item: Row,
-                                       statement: ClickHousePreparedStatementImpl): Unit = {
+  /**
+   * Resolve the writer of each field once, so that rendering a row only needs to index arrays and call typed setters.
+   */
+  private def compileColumnWriters(fields: util.List[String], dsFields: Array[String]): Array[ColumnWriter] = {
+    fields.zipWithIndex.map { case (field, i) =>
+      val fieldType = tableSchema(field)
+      val fieldIndex = dsFields.indexOf(field)
+      if (fieldIndex == -1) {
+        // specified field does not existed in row.
+        defaultColumnWriter(i + 1, fieldType)
+      } else {
+        val defaultWriter = defaultColumnWriter(i + 1, fieldType)
+        val valueWriter = baseTypeColumnWriter(i + 1, fieldIndex, resolveBaseType(fieldType))
+        (item: Row, statement: ClickHousePreparedStatementImpl) => {
+          if (item.isNullAt(fieldIndex)) {
+            // specified field is Null in row.
+            defaultWriter(item, statement)
+          } else {
+            valueWriter(item, statement)
+          }
+        }
+      }
+    }.toArray
+  }
+
+  /**
+   * Unwrap Nullable and LowCardinality to the type which decides the setter of statement.
+   */
+  private def resolveBaseType(fieldType: String): String = {
+    fieldType match {
+      case "String" | "DateTime" | Clickhouse.datetime64Pattern(_) | "Date" | Clickhouse.arrayPattern(_) =>
+        fieldType
+      case Clickhouse.floatPattern(_) | Clickhouse.intPattern(_) | Clickhouse.uintPattern(_) =>
+        fieldType
+      case Clickhouse.nullablePattern(dataType) => dataType
+      case Clickhouse.lowCardinalityPattern(dataType) => dataType
+      case Clickhouse.decimalPattern(_) => "Decimal"
+      case _ => "String"
+    }
+  }
+
+  private def defaultColumnWriter(index: Int, fieldType: String): ColumnWriter = {
+    (_: Row, statement: ClickHousePreparedStatementImpl) => statement.setObject(index, getDefaultValue(fieldType))
+  }
+
+  private def baseTypeColumnWriter(index: Int, fieldIndex: Int, fieldType: String): ColumnWriter = {
     fieldType match {
       case "String" =>
-        statement.setString(index + 1, item.getAs[String](fieldIndex))
+        (item, statement) => statement.setString(index, item.getAs[String](fieldIndex))
       case "Date" =>
-        val value = item.get(fieldIndex)
-        value match {
-          case date: Date =>
-            statement.setDate(index + 1, date)
-          case _ =>
-            statement.setDate(index + 1, Date.valueOf(value.toString))
-        }
+        (item, statement) =>
+          item.get(fieldIndex) match {
+            case date: Date =>
+              statement.setDate(index, date)
+            case value =>
+              statement.setDate(index, Date.valueOf(value.toString))
+          }
       case "DateTime" | Clickhouse.datetime64Pattern(_) =>
-        val value = item.get(fieldIndex)
-        value match {
-          case timestamp: Timestamp =>
-            statement.setTimestamp(index + 1, timestamp)
-          case _ =>
-            statement.setTimestamp(index + 1, Timestamp.valueOf(value.toString))
-        }
+        (item, statement) =>
+          item.get(fieldIndex) match {
+            case timestamp: Timestamp =>
+              statement.setTimestamp(index, timestamp)
+            case value =>
+              statement.setTimestamp(index, Timestamp.valueOf(value.toString))
+          }
       case "Int8" | "UInt8" | "Int16" | "UInt16" | "Int32" =>
-        val value = item.get(fieldIndex)
-        value match {
-          case byte: Byte =>
-            statement.setByte(index + 1, byte.byteValue())
-          case short: Short =>
-            statement.setShort(index + 1, short.shortValue())
-          case _ =>
-            statement.setInt(index + 1, value.asInstanceOf[Int])
-        }
+        (item, statement) =>
+          item.get(fieldIndex) match {
+            case byte: Byte =>
+              statement.setByte(index, byte.byteValue())
+            case short: Short =>
+              statement.setShort(index, short.shortValue())
+            case value =>
+              statement.setInt(index, value.asInstanceOf[Int])
+          }
       case "UInt32" | "UInt64" | "Int64" =>
-        statement.setLong(index + 1, item.getAs[Long](fieldIndex))
+        (item, statement) => statement.setLong(index, item.getAs[Long](fieldIndex))
       case "Float32" =>
-        val value = item.get(fieldIndex)
-        value match {
-          case decimal: BigDecimal =>
-            statement.setFloat(index + 1, decimal.floatValue())
-          case _ =>
-            statement.setFloat(index + 1, value.asInstanceOf[Float])
-        }
+        (item, statement) =>
+          item.get(fieldIndex) match {
+            case decimal: BigDecimal =>
+              statement.setFloat(index, decimal.floatValue())
+            case value =>
+              statement.setFloat(index, value.asInstanceOf[Float])
+          }
       case "Float64" =>
-        val value = item.get(fieldIndex)
-        value match {
-          case decimal: BigDecimal =>
-            statement.setDouble(index + 1, decimal.doubleValue())
-          case _ =>
-            statement.setDouble(index + 1, value.asInstanceOf[Double])
-        }
+        (item, statement) =>
+          item.get(fieldIndex) match {
+            case decimal: BigDecimal =>
+              statement.setDouble(index, decimal.doubleValue())
+            case value =>
+              statement.setDouble(index, value.asInstanceOf[Double])
+          }
       case Clickhouse.arrayPattern(_) =>
-        val value = item.getAs[Seq[Any]](fieldIndex).toArray
-        statement.setArray(index + 1, new ClickHouseArray(ClickHouseDataType.String, value))
-      case Clickhouse.decimalPattern(_) => statement.setBigDecimal(index + 1, item.getAs[BigDecimal](fieldIndex))
-      case _ => statement.setString(index + 1, item.getAs[String](fieldIndex))
+        (item, statement) =>
+          statement.setArray(index, new ClickHouseArray(ClickHouseDataType.String, item.getAs[Seq[Any]](fieldIndex).toArray))
+      case Clickhouse.decimalPattern(_) =>
+        (item, statement) => statement.setBigDecimal(index, item.getAs[BigDecimal](fieldIndex))
+      case _ =>
+        (item, statement) => statement.setString(index, item.getAs[String](fieldIndex))
     }
   }
 
   private def renderStatement(
-                               fields: util.List[String],
+                               columnWriters: Array[ColumnWriter],
                                item: Row,
-                               dsFields: Array[String],
                                statement: ClickHousePreparedStatementImpl): Unit = {
-    for (i <- 0 until fields.size()) {
-      val field = fields.get(i)
-      val fieldType = tableSchema(field)
-      if (dsFields.indexOf(field) == -1) {
-        // specified field does not existed in row.
-        renderDefaultStatement(i, fieldType, statement)
-      } else {
-        val fieldIndex = item.fieldIndex(field)
-        if (item.isNullAt(fieldIndex)) {
-          // specified field is Null in row.
-          renderDefaultStatement(i, fieldType, statement)
-        } else {
-          fieldType match {
-            case "String" | "DateTime" | Clickhouse.datetime64Pattern(_) | "Date" | Clickhouse.arrayPattern(_) =>
-              renderBaseTypeStatement(i, fieldIndex, fieldType, item, statement)
-            case Clickhouse.floatPattern(_) | Clickhouse.intPattern(_) | Clickhouse.uintPattern(_) =>
-              renderBaseTypeStatement(i, fieldIndex, fieldType, item, statement)
-            case Clickhouse.nullablePattern(dataType) =>
-              renderBaseTypeStatement(i, fieldIndex, dataType, item, statement)
-            case Clickhouse.lowCardinalityPattern(dataType) =>
-              renderBaseTypeStatement(i, fieldIndex, dataType, item, statement)
-            case Clickhouse.decimalPattern(_) =>
-              renderBaseTypeStatement(i, fieldIndex, "Decimal", item, statement)
-            case _ => statement.setString(i + 1, item.getAs[String](field))
-          }
-        }
-      }
+    var i = 0
+    while (i < columnWriters.length) {
+      columnWriters(i)(item, statement)
+      i += 1
     }
   }
 
@@ -333,11 +419,41 @@ class Clickhouse extends SparkBatchSink {
     }
   }
 
+  @tailrec
+  private def sendRowBinary(statement: ClickHouseStatement, sql: String, columnWriters: Array[RowBinaryWriter.ColumnWriter],
+                            rows: Seq[Row], retry: Int): Unit = {
+    val res = Try(statement.sendRowBinaryStream(sql, new ClickHouseStreamCallback {
+      override def writeTo(stream: ClickHouseRowBinaryStream): Unit = {
+        rows.foreach(row => RowBinaryWriter.write(columnWriters, row, stream))
+      }
+    }))
+    res match {
+      case Success(_) =>
+      case Failure(e: ClickHouseException) =>
+        val errorCode = e.getErrorCode
+        if (retryCodes.contains(errorCode)) {
+          if (retry > 0) {
+            sendRowBinary(statement, sql, columnWriters, rows, retry - 1)
+          } else {
+            statement.close()
+            throw e
+          }
+        } else {
+          throw e
+        }
+      case Failure(e) =>
+        statement.close()
+        throw e
+    }
+  }
+
   override def getPluginName: String = "Clickhouse"
 }
 
 object Clickhouse {
 
+  type ColumnWriter = (Row, ClickHousePreparedStatementImpl) => Unit
+
   val arrayPattern: Regex = "(Array.*)".r
   val nullablePattern: Regex = "Nullable\\((.*)\\)".r
   val lowCardinalityPattern: Regex = "LowCardinality\\((.*)\\)".r
@@ -347,6 +463,8 @@ object Clickhouse {
   val decimalPattern: Regex = "(Decimal.*)".r
   val datetime64Pattern: Regex = "(DateTime64\\(.*\\))".r
   val distributedEngine = "Distributed"
+  val valuesMode = "values"
+  val rowBinaryMode = "row_binary"
 
   /**
    * Seatunnel support this clickhouse data type or not.
@@ -26,18 +26,18 @@ import org.apache.seatunnel.common.config.CheckConfigUtil.checkAllExists
 import org.apache.seatunnel.common.config.CheckResult
 import org.apache.seatunnel.spark.SparkEnvironment
 import org.apache.seatunnel.spark.batch.SparkBatchSink
-import org.apache.seatunnel.spark.clickhouse.Config.{CLICKHOUSE_LOCAL_PATH, COPY_METHOD, DATABASE, FIELDS, HOST, NODE_ADDRESS, NODE_FREE_PASSWORD, NODE_PASS, PASSWORD, SHARDING_KEY, TABLE, TMP_BATCH_CACHE_LINE, USERNAME}
+import org.apache.seatunnel.spark.clickhouse.Config.{CLICKHOUSE_LOCAL_PATH, COPY_METHOD, DATABASE, FIELDS, HOST, NODE_ADDRESS, NODE_FREE_PASSWORD, NODE_PASS, PART_TARGET_ROWS, PASSWORD, SHARDING_KEY, SHUFFLE_BY_SHARD, TABLE, TMP_BATCH_CACHE_LINE, USERNAME}
 import org.apache.seatunnel.spark.clickhouse.sink.Clickhouse._
-import org.apache.seatunnel.spark.clickhouse.sink.ClickhouseFile.{CLICKHOUSE_FILE_PREFIX, LOGGER, UUID_LENGTH, getClickhouseTableInfo}
+import org.apache.seatunnel.spark.clickhouse.sink.ClickhouseFile.{CLICKHOUSE_FILE_PREFIX, LOGGER, ShardDataFile, UUID_LENGTH, getClickhouseTableInfo}
 import org.apache.seatunnel.spark.clickhouse.sink.Table
-import org.apache.seatunnel.spark.clickhouse.sink.filetransfer.{FileTransfer, ScpFileTransfer}
+import org.apache.seatunnel.spark.clickhouse.sink.filetransfer.{FileTransfer, RsyncFileTransfer, ScpFileTransfer}
 import org.apache.seatunnel.spark.clickhouse.sink.filetransfer.TransferMethod.{RSYNC, SCP, TransferMethod, getCopyMethod}
 import org.apache.spark.sql.catalyst.encoders.{ExpressionEncoder, RowEncoder}
 import org.apache.spark.sql.{Dataset, Encoders, Row}
 import org.slf4j.LoggerFactory
 import ru.yandex.clickhouse.{BalancedClickhouseDataSource, ClickHouseConnectionImpl}
 
-import java.io.File
+import java.io.{BufferedWriter, File, FileWriter}
 import java.nio.channels.FileChannel
 import java.nio.file.{Paths, StandardOpenOption}
 import java.util
@@ -64,6 +64,8 @@ class ClickhouseFile extends SparkBatchSink {
   private var freePass: Boolean = false
   private var copyFileMethod: TransferMethod = SCP
   private var tmpBatchCacheLine = 100000
+  private var shuffleByShard = true
+  private var partTargetRows = 0L
 
   override def output(data: Dataset[Row], env: SparkEnvironment): Unit = {
 
@@ -71,6 +73,16 @@ class ClickhouseFile extends SparkBatchSink {
       this.fields = data.schema.fieldNames.toList
     }
 
+    if (shuffleByShard) {
+      outputByShard(data, env)
+    } else {
+      data.foreachPartition { iter: Iterator[Row] =>
+        outputPartition(iter)
+      }
+    }
+  }
+
+  private def outputByShard(data: Dataset[Row], env: SparkEnvironment): Unit = {
     val session = env.getSparkSession
     import session.implicits._
     val encoder = Encoders.tuple(
@@ -83,16 +95,72 @@ class ClickhouseFile extends SparkBatchSink {
         hashInstance, item)
       (shard, item)
     })(encoder).groupByKey(si => si._1).mapGroups((shard, rows) => {
-      val paths = generateClickhouseFile(rows)
-      moveFileToServer(shard, paths)
-      attachClickhouseFile(shard, paths)
-      clearLocalFile(paths.head.substring(0, CLICKHOUSE_FILE_PREFIX.length + UUID_LENGTH + 1))
+      val (uuid, targetPath) = createLocalDirectory()
+      val tmpDataPath = targetPath + "/local_data.log"
+      mmapSaveDataSafely(tmpDataPath, rows.map(r => r._2))
+      loadClickhouseFile(shard, uuid, targetPath, tmpDataPath)
       0
     }).foreach(_ => {})
+  }
+
+  /**
+   * Generate the clickhouse file of each shard in the partition itself, so that no shuffle is needed. The rows are
+   * written into a local file of their shard, which is loaded when it reaches part_target_rows or the partition ends.
+   */
+  private def outputPartition(iter: Iterator[Row]): Unit = {
+    // hashInstance cannot be serialized, can only be created in a partition
+    val hashInstance = XXHashFactory.fastestInstance().hash64()
+    val shardFiles = mutable.Map[Shard, ShardDataFile]()
+    try {
+      for (item <- iter) {
+        val shard = getRowShard(distributedEngine.equals(this.table.engine), this.table.shards,
+          this.table.shardKey, this.table.shardKeyType, this.table.shardWeightCount, this.random,
+          hashInstance, item)
+        val shardFile = shardFiles.getOrElseUpdate(shard, newShardDataFile())
+        shardFile.writer.write(toLine(item))
+        shardFile.rows += 1
+        if (partTargetRows > 0 && shardFile.rows >= partTargetRows) {
+          shardFiles.remove(shard)
+          loadShardDataFile(shard, shardFile)
+        }
+      }
+      shardFiles.foreach(s => loadShardDataFile(s._1, s._2))
+      shardFiles.clear()
+    } finally {
+      shardFiles.values.foreach(shardFile => {
+        shardFile.writer.close()
+        clearLocalFile(shardFile.targetPath)
+      })
+    }
+  }
+
+  private def newShardDataFile(): ShardDataFile = {
+    val (uuid, targetPath) = createLocalDirectory()
+    val tmpDataPath = targetPath + "/local_data.log"
+    ShardDataFile(uuid, targetPath, tmpDataPath, new BufferedWriter(new FileWriter(tmpDataPath)))
+  }
+
+  private def loadShardDataFile(shard: Shard, shardFile: ShardDataFile): Unit = {
+    shardFile.writer.close()
+    loadClickhouseFile(shard, shardFile.uuid, shardFile.targetPath, shardFile.dataPath)
+  }
+
+  private def loadClickhouseFile(shard: Shard, uuid: String, targetPath: String, tmpDataPath: String): Unit = {
+    val paths = generateClickhouseFile(uuid, targetPath, tmpDataPath)
+    moveFileToServer(shard, paths)
+    attachClickhouseFile(shard, paths)
+    clearLocalFile(targetPath)
+  }
 
+  private def createLocalDirectory(): (String, String) = {
+    val uuid = UUID.randomUUID().toString.substring(0, UUID_LENGTH).replaceAll("-", "_")
+    val targetPath = java.lang.String.format("%s/%s", CLICKHOUSE_FILE_PREFIX, uuid)
+    val target = new File(targetPath)
+    target.mkdirs()
+    (uuid, targetPath)
   }
 
-  private def generateClickhouseFile(rows: Iterator[(Shard, Row)]): List[String] = {
+  private def generateClickhouseFile(uuid: String, targetPath: String, tmpDataPath: String): List[String] = {
 
     def getValue(kv: util.Map.Entry[String, String]): String = {
       if (this.fields.contains(kv.getKey)) {
@@ -109,14 +177,6 @@ class ClickhouseFile extends SparkBatchSink {
       }
     }
 
-    val uuid = UUID.randomUUID().toString.substring(0, UUID_LENGTH).replaceAll("-", "_")
-    val targetPath = java.lang.String.format("%s/%s", CLICKHOUSE_FILE_PREFIX, uuid)
-    val target = new File(targetPath)
-    target.mkdirs()
-    val tmpDataPath = targetPath + "/local_data.log"
-
-    mmapSaveDataSafely(tmpDataPath, rows.map(r => r._2))
-
     val exec = mutable.ListBuffer[String]()
     exec.appendAll(clickhouseLocalPath.trim.split(" "))
     exec.append("-S")
@@ -155,13 +215,15 @@ class ClickhouseFile extends SparkBatchSink {
   }
 
   private def mmapSaveData(outputChannel: FileChannel, rows: List[Row]): Unit = {
-    val data = rows.map(r => {
-      this.fields.map(f => r.getAs[Object](f).toString).mkString("\t") + "\n"
-    }).mkString
+    val data = rows.map(toLine).mkString
     val buffer = outputChannel.map(FileChannel.MapMode.READ_WRITE, outputChannel.size(), data.getBytes.length)
     buffer.put(data.getBytes)
   }
 
+  private def toLine(r: Row): String = {
+    this.fields.map(f => r.getAs[Object](f).toString).mkString("\t") + "\n"
+  }
+
   private def moveFileToServer(shard: Shard, paths: List[String]): Unit = {
 
     var fileTransfer: FileTransfer = null
@@ -175,7 +237,14 @@ class ClickhouseFile extends SparkBatchSink {
       scpFileTransfer.init()
       fileTransfer = scpFileTransfer
     } else if (this.copyFileMethod == RSYNC) {
-      throw new UnsupportedOperationException(s"not support copy file method: '$copyFileMethod' yet")
+      var rsyncFileTransfer: RsyncFileTransfer = null
+      if (nodePass.contains(shard.hostAddress)) {
+        rsyncFileTransfer = new RsyncFileTransfer(shard.hostAddress, nodePass(shard.hostAddress))
+      } else {
+        rsyncFileTransfer = new RsyncFileTransfer(shard.hostAddress)
+      }
+      rsyncFileTransfer.init()
+      fileTransfer = rsyncFileTransfer
     } else {
       throw new UnsupportedOperationException(s"unknown copy file method: '$copyFileMethod', please use " +
         s"scp/rsync instead")
@@ -228,6 +297,14 @@ class ClickhouseFile extends SparkBatchSink {
         this.tmpBatchCacheLine = config.getInt(TMP_BATCH_CACHE_LINE)
       }
 
+      if (config.hasPath(SHUFFLE_BY_SHARD)) {
+        this.shuffleByShard = config.getBoolean(SHUFFLE_BY_SHARD)
+      }
+
+      if (config.hasPath(PART_TARGET_ROWS)) {
+        this.partTargetRows = config.getLong(PART_TARGET_ROWS)
+      }
+
       val (result, tableInfo) = getClickhouseTableInfo(conn, database, table)
       if (!Objects.isNull(result)) {
         checkResult = result
@@ -299,6 +376,10 @@ object ClickhouseFile {
   private val OBJECT_MAPPER = new ObjectMapper()
   OBJECT_MAPPER.registerModule(DefaultScalaModule)
 
+  case class ShardDataFile(uuid: String, targetPath: String, dataPath: String, writer: BufferedWriter) {
+    var rows: Long = 0
+  }
+
   def getClickhouseTableInfo(conn: ClickHouseConnectionImpl, database: String, table: String):
   (CheckResult, Table) = {
     val sql = s"select engine,create_table_query,engine_full,data_paths from system.tables where database " +
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seatunnel.spark.clickhouse.sink
+
+import java.math.{BigDecimal, RoundingMode}
+import java.sql.{Date, Timestamp}
+
+import scala.annotation.tailrec
+import scala.util.matching.Regex
+
+import org.apache.spark.sql.Row
+import ru.yandex.clickhouse.util.ClickHouseRowBinaryStream
+
+/**
+ * Encode the fields of row into ClickHouse RowBinary format, the writer of each field is resolved once by its type.
+ */
+object RowBinaryWriter {
+
+  type ColumnWriter = (Row, ClickHouseRowBinaryStream) => Unit
+
+  private type ValueWriter = (Any, ClickHouseRowBinaryStream) => Unit
+
+  val decimalPattern: Regex = "Decimal\\((\\d+),\\s*(\\d+)\\)".r
+  val datetime64Pattern: Regex = "DateTime64\\((\\d+).*\\)".r
+  val arrayPattern: Regex = "Array\\((.*)\\)".r
+
+  private val decimal32Precision = 9
+  private val decimal64Precision = 18
+  private val decimal128Precision = 38
+  private val decimal256Precision = 76
+  private val int64Bits = 64
+  private val int128Words = 2
+  private val int256Words = 4
+  private val nanosDigits = 9
+  private val millisDigits = 3
+
+  /**
+   * RowBinary can encode this clickhouse data type or not.
+   *
+   * @param dataType ClickHouse Data Type
+   * @return Boolean
+   */
+  @tailrec
+  def supportOrNot(dataType: String): Boolean = {
+    dataType match {
+      case "String" | "Date" | "DateTime" | "Int8" | "UInt8" | "Int16" | "UInt16" | "Int32" | "UInt32" |
+           "Int64" | "UInt64" | "Float32" | "Float64" =>
+        true
+      case datetime64Pattern(_) | decimalPattern(_, _) =>
+        true
+      case Clickhouse.nullablePattern(dataType) => supportOrNot(dataType)
+      case Clickhouse.lowCardinalityPattern(dataType) => supportOrNot(dataType)
+      case arrayPattern(dataType) => supportOrNot(dataType)
+      case _ => false
+    }
+  }
+
+  /**
+   * Resolve the writer of each column of the insert, the column which does not exist in row will be written with
+   * its default value.
+   */
+  def compileColumnWriters(fields: Seq[String], tableSchema: Map[String, String],
+                           dsFields: Array[String]): Array[ColumnWriter] = {
+    fields.map(field => {
+      val fieldType = tableSchema(field)
+      val fieldIndex = dsFields.indexOf(field)
+      val nullWriter = nullValueWriter(fieldType)
+      if (fieldIndex == -1) {
+        (_: Row, stream: ClickHouseRowBinaryStream) => nullWriter(stream)
+      } else {
+        val writer = valueWriter(fieldType)
+        (item: Row, stream: ClickHouseRowBinaryStream) => {
+          if (item.isNullAt(fieldIndex)) {
+            nullWriter(stream)
+          } else {
+            writer(item.get(fieldIndex), stream)
+          }
+        }
+      }
+    }).toArray
+  }
+
+  def write(columnWriters: Array[ColumnWriter], item: Row, stream: ClickHouseRowBinaryStream): Unit = {
+    var i = 0
+    while (i < columnWriters.length) {
+      columnWriters(i)(item, stream)
+      i += 1
+    }
+  }
+
+  private def valueWriter(fieldType: String): ValueWriter = {
+    fieldType match {
+      case "String" =>
+        (value, stream) => stream.writeString(String.valueOf(value))
+      case "Date" =>
+        (value, stream) =>
+          value match {
+            case date: java.util.Date => stream.writeDate(date)
+            case _ => stream.writeDate(Date.valueOf(value.toString))
+          }
+      case "DateTime" =>
+        (value, stream) => stream.writeDateTime(toTimestamp(value))
+      case datetime64Pattern(precision) =>
+        val scale = precision.toInt
+        (value, stream) => stream.writeInt64(toDateTime64(toTimestamp(value), scale))
+      case "Int8" =>
+        (value, stream) => stream.writeInt8(value.asInstanceOf[Number].byteValue())
+      case "UInt8" =>
+        (value, stream) => stream.writeUInt8(value.asInstanceOf[Number].intValue())
+      case "Int16" =>
+        (value, stream) => stream.writeInt16(value.asInstanceOf[Number].shortValue())
+      case "UInt16" =>
+        (value, stream) => stream.writeUInt16(value.asInstanceOf[Number].intValue())
+      case "Int32" =>
+        (value, stream) => stream.writeInt32(value.asInstanceOf[Number].intValue())
+      case "UInt32" =>
+        (value, stream) => stream.writeUInt32(value.asInstanceOf[Number].longValue())
+      case "Int64" =>
+        (value, stream) => stream.writeInt64(value.asInstanceOf[Number].longValue())
+      case "UInt64" =>
+        (value, stream) => stream.writeUInt64(value.asInstanceOf[Number].longValue())
+      case "Float32" =>
+        (value, stream) => stream.writeFloat32(value.asInstanceOf[Number].floatValue())
+      case "Float64" =>
+        (value, stream) => stream.writeFloat64(value.asInstanceOf[Number].doubleValue())
+      case decimalPattern(precision, scale) =>
+        decimalWriter(precision.toInt, scale.toInt)
+      case Clickhouse.nullablePattern(dataType) =>
+        val writer = valueWriter(dataType)
+        (value, stream) => {
+          // elements of array can be null
+          if (value == null) {
+            stream.markNextNullable(true)
+          } else {
+            stream.markNextNullable(false)
+            writer(value, stream)
+          }
+        }
+      case Clickhouse.lowCardinalityPattern(dataType) =>
+        valueWriter(dataType)
+      case arrayPattern(dataType) =>
+        val writer = valueWriter(dataType)
+        (value, stream) => {
+          val elements = value.asInstanceOf[Seq[Any]]
+          stream.writeUnsignedLeb128(elements.size)
+          elements.foreach(element => writer(element, stream))
+        }
+      case _ =>
+        throw new UnsupportedOperationException(s"clickhouse data type [$fieldType] not support in RowBinary")
+    }
+  }
+
+  /**
+   * Decimal is its unscaled value as a little-endian Int32, Int64, Int128 or Int256 by precision, the driver has no
+   * decimal writer.
+   */
+  private def decimalWriter(precision: Int, scale: Int): ValueWriter = {
+    if (precision <= decimal32Precision) {
+      (value, stream) => stream.writeInt32(unscaledValue(value, scale).intValue())
+    } else if (precision <= decimal64Precision) {
+      (value, stream) => stream.writeInt64(unscaledValue(value, scale).longValue())
+    } else if (precision <= decimal128Precision) {
+      (value, stream) => writeInt64Words(unscaledValue(value, scale), int128Words, stream)
+    } else if (precision <= decimal256Precision) {
+      (value, stream) => writeInt64Words(unscaledValue(value, scale), int256Words, stream)
+    } else {
+      throw new UnsupportedOperationException(s"clickhouse decimal precision [$precision] not support in RowBinary")
+    }
+  }
+
+  /**
+   * Write a wide two's complement integer as little-endian 64 bits words, the lowest word first.
+   */
+  private def writeInt64Words(value: java.math.BigInteger, words: Int, stream: ClickHouseRowBinaryStream): Unit = {
+    var i = 0
+    while (i < words) {
+      stream.writeInt64(value.shiftRight(i * int64Bits).longValue())
+      i += 1
+    }
+  }
+
+  private def unscaledValue(value: Any, scale: Int): java.math.BigInteger = {
+    val decimal = value match {
+      case decimal: BigDecimal => decimal
+      case decimal: scala.math.BigDecimal => decimal.bigDecimal
+      case _ => new BigDecimal(value.toString)
+    }
+    decimal.setScale(scale, RoundingMode.HALF_UP).unscaledValue()
+  }
+
+  /**
+   * The same default values as the statement insert, Nullable column is written as null.
+   */
+  private def nullValueWriter(fieldType: String): ClickHouseRowBinaryStream => Unit = {
+    fieldType match {
+      case Clickhouse.nullablePattern(_) =>
+        stream => stream.markNextNullable(true)
+      case Clickhouse.lowCardinalityPattern(dataType) =>
+        nullValueWriter(dataType)
+      case arrayPattern(_) =>
+        stream => stream.writeUnsignedLeb128(0)
+      case "String" =>
+        stream => stream.writeString("")
+      case "Date" | "DateTime" | datetime64Pattern(_) =>
+        val writer = valueWriter(fieldType)
+        stream => writer(new Timestamp(System.currentTimeMillis()), stream)
+      case decimalPattern(_, _) =>
+        val writer = valueWriter(fieldType)
+        stream => writer(BigDecimal.ZERO, stream)
+      case _ =>
+        val writer = valueWriter(fieldType)
+        stream => writer(0, stream)
+    }
+  }
+
+  private def toTimestamp(value: Any): Timestamp = {
+    value match {
+      case timestamp: Timestamp => timestamp
+      case date: java.util.Date => new Timestamp(date.getTime)
+      case _ => Timestamp.valueOf(value.toString)
+    }
+  }
+
+  private def toDateTime64(timestamp: Timestamp, scale: Int): Long = {
+    val seconds = Math.floorDiv(timestamp.getTime, 1000L)
+    val fraction = if (scale <= millisDigits) {
+      Math.floorMod(timestamp.getTime, 1000L) / math.pow(10, millisDigits - scale).toLong
+    } else {
+      timestamp.getNanos / math.pow(10, nanosDigits - scale).toLong
+    }
+    seconds * math.pow(10, scale).toLong + fraction
+  }
+}
@@ -17,21 +17,71 @@
 
 package org.apache.seatunnel.spark.clickhouse.sink.filetransfer
 
-object RsyncFileTransfer extends FileTransfer {
+import scala.collection.mutable
+import scala.sys.process._
 
-  override def transferAndChown(sourcePath: String, targetPath: String): Unit = {
-    throw new UnsupportedOperationException("not support rsync file transfer yet")
+/**
+ * Transfer file by rsync over ssh with compression, `rsync` and `ssh` should be installed on the spark node,
+ * and `sshpass` should be installed when the password of the clickhouse node is given.
+ */
+class RsyncFileTransfer(host: String) extends FileTransfer {
+
+  var password: String = _
+
+  def this(host: String, password: String) {
+    this(host)
+    this.password = password
   }
 
-  override def init(): Unit = {
-    throw new UnsupportedOperationException("not support rsync file transfer yet")
+  private val sshCommand = "ssh -o StrictHostKeyChecking=no"
+
+  override def transferAndChown(sourcePath: String, targetPath: String): Unit = {
+    transferAndChown(List(sourcePath), targetPath)
   }
 
   override def transferAndChown(sourcePath: List[String], targetPath: String): Unit = {
-    throw new UnsupportedOperationException("not support rsync file transfer yet")
+    if (sourcePath.nonEmpty) {
+      val rsync = withPassword()
+      rsync.appendAll(Seq("rsync", "--archive", "--compress", "-e", sshCommand))
+      rsync.appendAll(sourcePath)
+      rsync.append(s"root@$host:$targetPath")
+      execute(rsync)
+
+      // remote exec command to change file owner. Only file owner equal with server's clickhouse user can
+      // make ATTACH command work.
+      val chown = withPassword()
+      chown.appendAll(sshCommand.split(" "))
+      chown.append(s"root@$host")
+      chown.append("ls -l " + targetPath.substring(0, targetPath.stripSuffix("/").lastIndexOf("/")) +
+        "/ | tail -n 1 | awk '{print $3}' | xargs -t -i chown -R {}:{} " + targetPath)
+      execute(chown)
+    }
+  }
+
+  override def init(): Unit = {
+    // rsync runs a new process for each transfer, nothing to init
   }
 
   override def close(): Unit = {
-    throw new UnsupportedOperationException("not support rsync file transfer yet")
+    // nothing to close
+  }
+
+  private def withPassword(): mutable.ListBuffer[String] = {
+    val command = mutable.ListBuffer[String]()
+    if (password != null) {
+      // the password is passed by environment variable, so it can't be seen from the process list
+      command.appendAll(Seq("sshpass", "-e"))
+    }
+    command
+  }
+
+  private def execute(command: Seq[String]): Unit = {
+    val env = if (password != null) Seq("SSHPASS" -> password) else Seq.empty
+    val output = new StringBuilder
+    val exitCode = Process(command, None, env: _*) ! ProcessLogger(line => output.append(line).append("\n"))
+    if (exitCode != 0) {
+      throw new RuntimeException(s"failed to execute rsync command on host '$host', exit code $exitCode, " +
+        s"output: $output")
+    }
   }
 }
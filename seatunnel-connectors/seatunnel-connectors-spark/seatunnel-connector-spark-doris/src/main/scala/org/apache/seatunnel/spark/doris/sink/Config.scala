@@ -27,11 +27,20 @@ object Config extends Serializable {
   val BULK_SIZE = "batch_size"
   val ARGS_PREFIX = "doris."
   val COLUMN_SEPARATOR = "column_separator"
+  val MAX_RETRIES = "max_retries"
+  val RETRY_BACKOFF_MS = "retry_backoff_ms"
+  val MAX_IN_FLIGHT_BATCHES = "max_in_flight_batches"
+  val COMPRESS_TYPE = "compress_type"
+  val GZIP_COMPRESS_TYPE = "gz"
 
   val CHARSET = "UTF-8"
   val BINARY_CT = "application/octet-stream"
   val CONTENT_TYPE = "text/plain"
   var TIMEOUT = 30000
+  val HTTP_OK = 200
+  val MAX_CONNECTIONS = 64
+  val MAX_BACKOFF_TIMES = 16
+  val GZIP_BUFFER_SIZE = 64 * 1024
 
   val CHECK_INT_ERROR = "Please check bulk_size is larger than 0"
   val CHECK_USER_ERROR = "Please check username and password at the same time"
@@ -24,14 +24,18 @@ import org.apache.seatunnel.spark.batch.SparkBatchSink
 import org.apache.seatunnel.spark.doris.sink.Config._
 import org.apache.spark.sql.{Dataset, Row}
 
+import java.util.concurrent.{ExecutionException, Executors, Future}
 import scala.collection.mutable
-import scala.collection.mutable.ListBuffer
+import scala.collection.mutable.ArrayBuffer
 
 class Doris extends SparkBatchSink with Serializable {
 
   var apiUrl: String = _
   var batch_size: Int = 5000
   var column_separator: String = "\t"
+  var maxRetries: Int = 3
+  var retryBackoffMs: Long = 1000
+  var maxInFlightBatches: Int = 1
   var propertiesMap = new mutable.HashMap[String, String]()
 
   private val NULL_VALUE = "\\N"
@@ -57,19 +61,22 @@ class Doris extends SparkBatchSink with Serializable {
       builder.substring(0, builder.length - 1)
     })
     dataFrame.foreachPartition { partition =>
-      var count: Int = 0
-      val buffer = new ListBuffer[String]
-      val dorisUtil = new DorisUtil(propertiesMap.toMap, apiUrl, user, password)
-      for (message <- partition) {
-        count += 1
-        buffer += message
-        if (count > batch_size) {
-          dorisUtil.saveMessages(buffer.mkString("\n"))
-          buffer.clear()
-          count = 0
+      val dorisUtil = new DorisUtil(propertiesMap.toMap, apiUrl, user, password, maxRetries, retryBackoffMs)
+      val loader = new BatchLoader(dorisUtil, maxInFlightBatches)
+      try {
+        var buffer = new ArrayBuffer[String](batch_size)
+        for (message <- partition) {
+          buffer += message
+          if (buffer.length >= batch_size) {
+            loader.load(buffer)
+            buffer = new ArrayBuffer[String](batch_size)
+          }
         }
+        loader.load(buffer)
+        loader.awaitAll()
+      } finally {
+        loader.close()
       }
-      dorisUtil.saveMessages(buffer.mkString("\n"))
     }
   }
 
@@ -94,6 +101,15 @@ class Doris extends SparkBatchSink with Serializable {
     if (config.hasPath(Config.BULK_SIZE) && config.getInt(Config.BULK_SIZE) > 0) {
       batch_size = config.getInt(Config.BULK_SIZE)
     }
+    if (config.hasPath(Config.MAX_RETRIES)) {
+      maxRetries = config.getInt(Config.MAX_RETRIES)
+    }
+    if (config.hasPath(Config.RETRY_BACKOFF_MS)) {
+      retryBackoffMs = config.getLong(Config.RETRY_BACKOFF_MS)
+    }
+    if (config.hasPath(Config.MAX_IN_FLIGHT_BATCHES) && config.getInt(Config.MAX_IN_FLIGHT_BATCHES) > 0) {
+      maxInFlightBatches = config.getInt(Config.MAX_IN_FLIGHT_BATCHES)
+    }
   }
 
   /**
@@ -103,3 +119,45 @@ class Doris extends SparkBatchSink with Serializable {
    */
   override def getPluginName: String = "Doris"
 }
+
+/**
+ * Load the batches of a partition, at most maxInFlightBatches of them are loaded at the same time.
+ */
+class BatchLoader(dorisUtil: DorisUtil, maxInFlightBatches: Int) {
+
+  private val executor = if (maxInFlightBatches > 1) Executors.newFixedThreadPool(maxInFlightBatches) else null
+  private val pending = mutable.Queue[Future[_]]()
+
+  def load(messages: Seq[String]): Unit = {
+    if (executor == null) {
+      dorisUtil.saveMessages(messages)
+    } else {
+      if (pending.length >= maxInFlightBatches) {
+        await(pending.dequeue())
+      }
+      pending.enqueue(executor.submit(new Runnable {
+        override def run(): Unit = dorisUtil.saveMessages(messages)
+      }))
+    }
+  }
+
+  def awaitAll(): Unit = {
+    while (pending.nonEmpty) {
+      await(pending.dequeue())
+    }
+  }
+
+  def close(): Unit = {
+    if (executor != null) {
+      executor.shutdownNow()
+    }
+  }
+
+  private def await(future: Future[_]): Unit = {
+    try {
+      future.get()
+    } catch {
+      case e: ExecutionException => throw e.getCause
+    }
+  }
+}
@@ -14,27 +14,45 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.seatunnel.spark.doris.sink
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import org.apache.commons.net.util.Base64
 import org.apache.http.HttpHeaders
 import org.apache.http.client.config.RequestConfig
-import org.apache.http.client.methods.{CloseableHttpResponse, HttpPut}
-import org.apache.http.entity.StringEntity
+import org.apache.http.client.methods.HttpPut
+import org.apache.http.entity.AbstractHttpEntity
 import org.apache.http.impl.client.{CloseableHttpClient, DefaultConnectionKeepAliveStrategy, DefaultRedirectStrategy, HttpClientBuilder}
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
+import org.apache.http.util.EntityUtils
 import org.apache.log4j.Logger
+import org.apache.seatunnel.common.utils.RetryUtils
+import org.apache.seatunnel.common.utils.RetryUtils.{Execution, RetryMaterial}
 
-import java.io.{BufferedReader, InputStreamReader}
+import java.io.{ByteArrayInputStream, ByteArrayOutputStream, InputStream, OutputStream}
 import java.nio.charset.{Charset, StandardCharsets}
-import scala.util.{Failure, Success, Try}
+import java.util.UUID
+import java.util.zip.GZIPOutputStream
 
 object DorisUtil extends Serializable {
 
   private val LOG = Logger.getLogger(this.getClass)
+  private val OBJECT_MAPPER = new ObjectMapper()
+  private val SUCCESS_STATUS = Set("Success", "Publish Timeout")
+  private val LABEL_EXISTS_STATUS = "Label Already Exists"
+  private val FINISHED_JOB_STATUS = "FINISHED"
+
+  /**
+   * Shared by all the tasks of an executor, so that the connections to fe and be are pooled and kept alive.
+   */
+  lazy val httpClient: CloseableHttpClient = createClient
 
-  def createClient: CloseableHttpClient =
+  def createClient: CloseableHttpClient = {
+    val connectionManager = new PoolingHttpClientConnectionManager()
+    connectionManager.setMaxTotal(Config.MAX_CONNECTIONS)
+    connectionManager.setDefaultMaxPerRoute(Config.MAX_CONNECTIONS)
     HttpClientBuilder.create()
+      .setConnectionManager(connectionManager)
       .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy)
       .setRedirectStrategy(new DefaultRedirectStrategy() {
         override def isRedirectable(method: String): Boolean = {
@@ -42,58 +60,61 @@ object DorisUtil extends Serializable {
           true
         }
       }).build()
+  }
 
+  /**
+   * Send the entity by stream load.
+   *
+   * @return http status code and response content
+   */
   def streamLoad(httpclient: CloseableHttpClient,
                  headers: Map[String, String],
-                 messages: String,
+                 entity: AbstractHttpEntity,
                  api: String,
                  user: String,
-                 password: String): (Boolean, CloseableHttpClient, CloseableHttpResponse) = {
-
-    var response: CloseableHttpResponse = null
-    var status = true
+                 password: String): (Int, String) = {
+    val httpPut = new HttpPut(api)
+    val requestConfig = RequestConfig.custom()
+      .setAuthenticationEnabled(true)
+      .setCircularRedirectsAllowed(true)
+      .setRedirectsEnabled(true)
+      .setRelativeRedirectsAllowed(true)
+      .setExpectContinueEnabled(true)
+      .setConnectTimeout(Config.TIMEOUT).setConnectionRequestTimeout(Config.TIMEOUT)
+      .setSocketTimeout(Config.TIMEOUT).build()
+    httpPut.setConfig(requestConfig)
+    httpPut.setHeader(HttpHeaders.EXPECT, "100-continue")
+    httpPut.setHeader(HttpHeaders.AUTHORIZATION, basicAuthHeader(user, password))
+    if (headers != null && headers.nonEmpty) {
+      headers.foreach(entry => {
+        httpPut.setHeader(entry._1, entry._2)
+      })
+    }
+    httpPut.setEntity(entity)
+    val response = httpclient.execute(httpPut)
     try {
-      val httpPut = new HttpPut(api)
-      val requestConfig = RequestConfig.custom()
-        .setAuthenticationEnabled(true)
-        .setCircularRedirectsAllowed(true)
-        .setRedirectsEnabled(true)
-        .setRelativeRedirectsAllowed(true)
-        .setExpectContinueEnabled(true)
-        .setConnectTimeout(Config.TIMEOUT).setConnectionRequestTimeout(Config.TIMEOUT)
-        .setSocketTimeout(Config.TIMEOUT).build()
-      httpPut.setConfig(requestConfig)
-      httpPut.setHeader(HttpHeaders.EXPECT, "100-continue")
-      httpPut.setHeader(HttpHeaders.AUTHORIZATION, basicAuthHeader(user, password))
-      if (headers != null && headers.nonEmpty) {
-        headers.foreach(entry => {
-          httpPut.setHeader(entry._1, entry._2)
-        })
-      }
-      val content = new StringEntity(messages, Charset.forName(Config.CHARSET))
-      content.setContentType(Config.CONTENT_TYPE)
-      content.setContentEncoding(Config.CHARSET)
-      httpPut.setEntity(content)
-      response = httpclient.execute(httpPut)
-      val bufferReader = new BufferedReader(new InputStreamReader(response.getEntity.getContent))
-      val stringBuffer = new StringBuffer()
-      var str = ""
-      while (str != null) {
-        stringBuffer.append(str.trim)
-        str = bufferReader.readLine()
-      }
+      // consume the response fully, so that the connection is released to the pool
+      val content = if (response.getEntity == null) "" else EntityUtils.toString(response.getEntity, Config.CHARSET)
       LOG.info(
         s"""
            |Batch Messages Response:
-           |${stringBuffer.toString}
+           |$content
            |""".stripMargin)
-    } catch {
-      case _: Exception => status = false
-        (status, httpclient, response)
+      (response.getStatusLine.getStatusCode, content)
+    } finally {
+      response.close()
     }
-    (status, httpclient, response)
   }
 
+  /**
+   * The load is finished, or the label has been loaded by the previous attempt.
+   */
+  def isLoaded(content: String): Boolean = {
+    val node = OBJECT_MAPPER.readTree(content)
+    val status = node.path("Status").asText()
+    SUCCESS_STATUS.contains(status) ||
+      (LABEL_EXISTS_STATUS.equals(status) && FINISHED_JOB_STATUS.equals(node.path("ExistingJobStatus").asText()))
+  }
 
   def basicAuthHeader(username: String, password: String): String = {
     val tobeEncode: String = username + ":" + password
@@ -101,20 +122,70 @@ object DorisUtil extends Serializable {
     val res = "Basic " + new String(encoded)
     res
   }
+
+  /**
+   * Write the messages line by line to the request directly, optionally compressed by gzip. It is repeatable, so
+   * that it can be sent again after redirect or retry.
+   */
+  class MessagesEntity(messages: Seq[String], gzip: Boolean) extends AbstractHttpEntity {
+
+    setContentType(Config.CONTENT_TYPE)
+    setChunked(true)
+
+    override def isRepeatable: Boolean = true
+
+    override def getContentLength: Long = -1
+
+    override def getContent: InputStream = {
+      val outputStream = new ByteArrayOutputStream()
+      writeTo(outputStream)
+      new ByteArrayInputStream(outputStream.toByteArray)
+    }
+
+    override def writeTo(outputStream: OutputStream): Unit = {
+      val target = if (gzip) new GZIPOutputStream(outputStream, Config.GZIP_BUFFER_SIZE) else outputStream
+      val charset = Charset.forName(Config.CHARSET)
+      var first = true
+      messages.foreach(message => {
+        if (!first) {
+          target.write('\n')
+        }
+        target.write(message.getBytes(charset))
+        first = false
+      })
+      target match {
+        case gzipOutputStream: GZIPOutputStream => gzipOutputStream.finish()
+        case _ =>
+      }
+      target.flush()
+    }
+
+    override def isStreaming: Boolean = false
+  }
 }
 
-class DorisUtil(httpHeader: Map[String, String], apiUrl: String, user: String, password: String) {
-  def saveMessages(messages: String): Unit = {
-    val httpClient = DorisUtil.createClient
-    val result = Try(DorisUtil.streamLoad(httpClient, httpHeader, messages, apiUrl, user, password))
-    result match {
-      case Success(_) =>
-        httpClient.close()
-        result.get._2.close()
-      case Failure(var1: Exception) =>
-        httpClient.close()
-        result.get._2.close()
-        throw new RuntimeException(var1.getMessage)
+class DorisUtil(httpHeader: Map[String, String], apiUrl: String, user: String, password: String,
+                maxRetries: Int, retryBackoffMs: Long) extends Serializable {
+
+  private val gzip = httpHeader.get(Config.COMPRESS_TYPE).exists(_.equalsIgnoreCase(Config.GZIP_COMPRESS_TYPE))
+
+  /**
+   * Load the messages with a unique label, which is kept by the retries, so that a batch is never loaded twice.
+   */
+  def saveMessages(messages: Seq[String]): Unit = {
+    if (messages.nonEmpty) {
+      val label = s"spark_sink_${UUID.randomUUID().toString.replaceAll("-", "")}"
+      val headers = httpHeader + ("label" -> label)
+      val entity = new DorisUtil.MessagesEntity(messages, gzip)
+      val retryMaterial = new RetryMaterial(maxRetries, true, null, retryBackoffMs, retryBackoffMs * Config.MAX_BACKOFF_TIMES)
+      RetryUtils.retryWithException(new Execution[Unit, Exception] {
+        override def execute(): Unit = {
+          val (status, content) = DorisUtil.streamLoad(DorisUtil.httpClient, headers, entity, apiUrl, user, password)
+          if (status != Config.HTTP_OK || !DorisUtil.isLoaded(content)) {
+            throw new RuntimeException(s"stream load of label $label failed, status: $status, response: $content")
+          }
+        }
+      }, retryMaterial)
     }
   }
 }